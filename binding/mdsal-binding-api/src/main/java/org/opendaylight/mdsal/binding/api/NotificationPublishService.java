@@ -8,6 +8,7 @@
 package org.opendaylight.mdsal.binding.api;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
@@ -52,6 +53,33 @@ public interface NotificationPublishService extends BindingService {
      */
     void putNotification(@NonNull Notification notification) throws InterruptedException;
 
+    /**
+     * Publishes a batch of notifications to subscribed listeners, in iteration order. This initiates
+     * the process of sending the notifications, but delivery to the listeners can happen asynchronously,
+     * potentially after a call to this method returns.
+     *
+     * <p>
+     * The default implementation invokes {@link #putNotification(Notification)} for each notification,
+     * hence the returned future completes as soon as all of them have been accepted. Implementations
+     * are encouraged to accept the batch as a whole and report its actual propagation.
+     *
+     * <b>Note:</b> This call will block when the notification queue is full.
+     *
+     * @param notifications
+     *            the notifications to publish.
+     * @return A listenable future which will report completion when the service has finished
+     *         propagating the notifications to their immediate registrants.
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if notifications or any of its elements is null
+     */
+    default @NonNull ListenableFuture<? extends Object> putNotifications(
+            final @NonNull Collection<? extends Notification> notifications) throws InterruptedException {
+        for (Notification notification : notifications) {
+            putNotification(notification);
+        }
+        return FluentFutures.immediateNullFluentFuture();
+    }
+
     /**
      * Publishes a notification to subscribed listeners. This initiates the process of sending the
      * notification, but delivery to the listeners can happen asynchronously, potentially after a
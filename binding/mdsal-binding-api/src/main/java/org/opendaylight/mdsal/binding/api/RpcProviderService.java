@@ -7,8 +7,13 @@
  */
 package org.opendaylight.mdsal.binding.api;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.opendaylight.yangtools.concepts.AbstractRegistration;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.RpcService;
 
@@ -26,4 +31,36 @@ public interface RpcProviderService extends BindingService {
     <S extends RpcService, T extends S> ObjectRegistration<T> registerRpcImplementation(Class<S> type,
             T implementation, Set<InstanceIdentifier<?>> paths);
 
+    /**
+     * Register multiple implementations of an RPC service at once, for example one for each mounted device.
+     * Implementations are expected to make all of them available atomically, notifying RPC availability listeners
+     * only once. The same applies to unregistration when the returned registration is closed.
+     *
+     * <p>
+     * Default implementation registers each implementation separately. If any of the registrations fails, the
+     * implementations registered before it are unregistered before the failure is propagated.
+     *
+     * @param type RPC service type
+     * @param implementations Map of implementations to the paths at which they should be registered. An empty set
+     *                        of paths registers the implementation globally.
+     * @return A {@link Registration} of all the implementations
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    default <S extends RpcService, T extends S> Registration registerRpcImplementations(final Class<S> type,
+            final Map<T, Set<InstanceIdentifier<?>>> implementations) {
+        final List<ObjectRegistration<T>> regs = new ArrayList<>(implementations.size());
+        try {
+            implementations.forEach((impl, paths) -> regs.add(paths.isEmpty() ? registerRpcImplementation(type, impl)
+                : registerRpcImplementation(type, impl, paths)));
+        } catch (RuntimeException e) {
+            regs.forEach(ObjectRegistration::close);
+            throw e;
+        }
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                regs.forEach(ObjectRegistration::close);
+            }
+        };
+    }
 }
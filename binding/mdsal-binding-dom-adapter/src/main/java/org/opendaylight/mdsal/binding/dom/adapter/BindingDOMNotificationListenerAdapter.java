@@ -7,67 +7,80 @@
  */
 package org.opendaylight.mdsal.binding.dom.adapter;
 
-import com.google.common.collect.ImmutableMap;
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.TypeToken;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import org.opendaylight.mdsal.binding.dom.adapter.invoke.NotificationListenerInvoker;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
-import org.opendaylight.mdsal.dom.api.DOMEvent;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.opendaylight.yangtools.yang.binding.NotificationListener;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * Adapter delivering {@link DOMNotification}s to a Binding {@link NotificationListener}.
+ *
+ * <p>
+ * Each adapter binds its own dispatcher: a chain of {@link MethodHandles#guardWithTest(MethodHandle, MethodHandle,
+ * MethodHandle)} tests on the notification type, each leading to the callback of the delegate. Once invoked often
+ * enough, the JVM customizes the dispatcher to this adapter's method handle, hence the callbacks are direct calls
+ * rather than a map lookup followed by a megamorphic interface call. The dispatcher is composed solely from method
+ * handles, hence it does not define any classes and does not depend on the class loader of the listener.
+ */
 class BindingDOMNotificationListenerAdapter implements DOMNotificationListener {
+    private static final MethodType DISPATCHER_TYPE = MethodType.methodType(void.class, SchemaPath.class,
+        DOMNotification.class);
+    private static final MethodHandle DESERIALIZE;
+    private static final MethodHandle MATCHES;
+    private static final MethodHandle UNSUPPORTED;
 
-    private final BindingNormalizedNodeSerializer codec;
-    private final NotificationListener delegate;
-    private final ImmutableMap<SchemaPath, NotificationListenerInvoker> invokers;
-
-    BindingDOMNotificationListenerAdapter(final BindingNormalizedNodeSerializer codec,
-            final NotificationListener delegate) {
-        this.codec = codec;
-        this.delegate = delegate;
-        this.invokers = createInvokerMapFor(delegate.getClass());
-    }
-
-    @Override
-    public void onNotification(final DOMNotification notification) {
-        final Notification baNotification = deserialize(notification);
-        final QName notificationQName = notification.getType().getLastComponent();
-        getInvoker(notification.getType()).invokeNotification(delegate, notificationQName, baNotification);
-    }
-
-    private Notification deserialize(final DOMNotification notification) {
-        if (notification instanceof LazySerializedDOMNotification) {
-            // TODO: This is a routed-back notification, for which we may end up losing event time here, but that is
-            //       okay, for now at least.
-            return ((LazySerializedDOMNotification) notification).getBindingData();
+    static {
+        final Lookup lookup = MethodHandles.lookup();
+        try {
+            DESERIALIZE = lookup.findVirtual(NotificationDeserializer.class, "deserialize",
+                MethodType.methodType(Notification.class, DOMNotification.class));
+            MATCHES = lookup.findStatic(BindingDOMNotificationListenerAdapter.class, "matches",
+                MethodType.methodType(boolean.class, SchemaPath.class, SchemaPath.class));
+            UNSUPPORTED = lookup.findStatic(BindingDOMNotificationListenerAdapter.class, "unsupported",
+                MethodType.methodType(void.class, NotificationListener.class, SchemaPath.class,
+                    DOMNotification.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
         }
-        return notification instanceof DOMEvent ? codec.fromNormalizedNodeNotification(notification.getType(),
-            notification.getBody(), ((DOMEvent) notification).getEventInstant())
-                : codec.fromNormalizedNodeNotification(notification.getType(), notification.getBody());
     }
 
-    private NotificationListenerInvoker getInvoker(final SchemaPath type) {
-        return invokers.get(type);
-    }
+    private final ImmutableSet<SchemaPath> supportedNotifications;
+    // Bound to this adapter's deserializer and delegate, of type DISPATCHER_TYPE
+    private final MethodHandle dispatcher;
 
-    protected Set<SchemaPath> getSupportedNotifications() {
-        return invokers.keySet();
+    BindingDOMNotificationListenerAdapter(final BindingNormalizedNodeSerializer codec,
+            final NotificationListener delegate) {
+        this(new NotificationDeserializer(codec), delegate);
     }
 
-    private static ImmutableMap<SchemaPath, NotificationListenerInvoker> createInvokerMapFor(
-            final Class<? extends NotificationListener> implClz) {
-        final Map<SchemaPath, NotificationListenerInvoker> builder = new HashMap<>();
-        for (final TypeToken<?> ifaceToken : TypeToken.of(implClz).getTypes().interfaces()) {
+    BindingDOMNotificationListenerAdapter(final NotificationDeserializer deserializer,
+            final NotificationListener delegate) {
+        requireNonNull(deserializer);
+        requireNonNull(delegate);
+
+        final MethodHandle deserialize = DESERIALIZE.bindTo(deserializer);
+        final ImmutableSet.Builder<SchemaPath> supported = ImmutableSet.builder();
+        MethodHandle chain = UNSUPPORTED.bindTo(delegate);
+        for (final TypeToken<?> ifaceToken : TypeToken.of(delegate.getClass()).getTypes().interfaces()) {
             Class<?> iface = ifaceToken.getRawType();
             if (NotificationListener.class.isAssignableFrom(iface) && BindingReflections.isBindingClass(iface)) {
                 @SuppressWarnings("unchecked")
@@ -75,11 +88,44 @@ class BindingDOMNotificationListenerAdapter implements DOMNotificationListener {
                         = (Class<? extends NotificationListener>) iface;
                 final NotificationListenerInvoker invoker = NotificationListenerInvoker.from(listenerType);
                 for (final SchemaPath path : getNotificationTypes(listenerType)) {
-                    builder.put(path, invoker);
+                    final MethodHandle callback = verifyNotNull(invoker.invokerFor(path.getLastComponent()),
+                        "No invoker for %s in %s", path, listenerType).bindTo(delegate);
+                    // (DOMNotification)void, deserializing the notification before invoking the callback
+                    final MethodHandle target = MethodHandles.filterArguments(callback, 0,
+                        deserialize.asType(MethodType.methodType(DataContainer.class, DOMNotification.class)));
+                    chain = MethodHandles.guardWithTest(MATCHES.bindTo(path),
+                        MethodHandles.dropArguments(target, 0, SchemaPath.class), chain);
+                    supported.add(path);
                 }
             }
         }
-        return ImmutableMap.copyOf(builder);
+
+        supportedNotifications = supported.build();
+        dispatcher = chain.asType(DISPATCHER_TYPE);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void onNotification(final DOMNotification notification) {
+        try {
+            dispatcher.invokeExact(notification.getType(), notification);
+        } catch (Throwable e) {
+            Throwables.throwIfUnchecked(e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected Set<SchemaPath> getSupportedNotifications() {
+        return supportedNotifications;
+    }
+
+    private static boolean matches(final SchemaPath expected, final SchemaPath type) {
+        return expected.equals(type);
+    }
+
+    private static void unsupported(final NotificationListener delegate, final SchemaPath type,
+            final DOMNotification notification) {
+        throw new IllegalArgumentException("Supplied notification is not valid for implementation " + delegate);
     }
 
     private static Set<SchemaPath> getNotificationTypes(final Class<? extends NotificationListener> type) {
@@ -11,6 +11,9 @@ import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNull;
@@ -51,6 +54,16 @@ public class BindingDOMNotificationPublishServiceAdapter extends AbstractBinding
         getDelegate().putNotification(toDomNotification(notification));
     }
 
+    @Override
+    public ListenableFuture<? extends Object> putNotifications(final Collection<? extends Notification> notifications)
+            throws InterruptedException {
+        final List<DOMNotification> domNotifications = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            domNotifications.add(toDomNotification(notification));
+        }
+        return getDelegate().putNotifications(domNotifications);
+    }
+
     @Override
     public ListenableFuture<? extends Object> offerNotification(final Notification notification) {
         ListenableFuture<?> offerResult = getDelegate().offerNotification(toDomNotification(notification));
@@ -18,17 +18,19 @@ import org.opendaylight.mdsal.dom.api.DOMService;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.binding.NotificationListener;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 public class BindingDOMNotificationServiceAdapter implements NotificationService {
 
     public static final Factory<NotificationService> BUILDER_FACTORY = Builder::new;
 
-    private final BindingNormalizedNodeSerializer codec;
+    private final NotificationDeserializer deserializer;
     private final DOMNotificationService domNotifService;
 
     public BindingDOMNotificationServiceAdapter(final DOMNotificationService domNotifService,
             final BindingNormalizedNodeSerializer codec) {
-        this.codec = codec;
+        // Shared by all listeners, so that a notification delivered to multiple listeners is deserialized only once
+        this.deserializer = new NotificationDeserializer(codec);
         this.domNotifService = domNotifService;
     }
 
@@ -39,26 +41,38 @@ public class BindingDOMNotificationServiceAdapter implements NotificationService
     }
 
     @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
     public <T extends NotificationListener> ListenerRegistration<T> registerNotificationListener(final T listener) {
         final BindingDOMNotificationListenerAdapter domListener
-                = new BindingDOMNotificationListenerAdapter(codec, listener);
-        final ListenerRegistration<BindingDOMNotificationListenerAdapter> domRegistration =
-                domNotifService.registerNotificationListener(domListener, domListener.getSupportedNotifications());
-        return new ListenerRegistrationImpl<>(listener, domRegistration);
+                = new BindingDOMNotificationListenerAdapter(deserializer, listener);
+        final Set<SchemaPath> types = domListener.getSupportedNotifications();
+        deserializer.addListener(types);
+
+        final ListenerRegistration<BindingDOMNotificationListenerAdapter> domRegistration;
+        try {
+            domRegistration = domNotifService.registerNotificationListener(domListener, types);
+        } catch (RuntimeException e) {
+            deserializer.removeListener(types);
+            throw e;
+        }
+        return new ListenerRegistrationImpl<>(listener, domRegistration, types);
     }
 
-    private static class ListenerRegistrationImpl<T extends NotificationListener>
-            extends AbstractListenerRegistration<T> {
+    private class ListenerRegistrationImpl<T extends NotificationListener> extends AbstractListenerRegistration<T> {
         private final ListenerRegistration<?> listenerRegistration;
+        private final Set<SchemaPath> types;
 
-        ListenerRegistrationImpl(final T listener, final ListenerRegistration<?> listenerRegistration) {
+        ListenerRegistrationImpl(final T listener, final ListenerRegistration<?> listenerRegistration,
+                final Set<SchemaPath> types) {
             super(listener);
             this.listenerRegistration = listenerRegistration;
+            this.types = types;
         }
 
         @Override
         protected void removeRegistration() {
             listenerRegistration.close();
+            deserializer.removeListener(types);
         }
     }
 
@@ -12,13 +12,17 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.mdsal.binding.api.RpcProviderService;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
 import org.opendaylight.mdsal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.mdsal.dom.api.DOMRpcProviderService;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.RpcService;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -45,6 +49,22 @@ public class BindingDOMRpcProviderServiceAdapter extends AbstractBindingAdapter<
         return register(type, implementation, toYangInstanceIdentifiers(paths));
     }
 
+    @Override
+    public <S extends RpcService, T extends S> Registration registerRpcImplementations(final Class<S> type,
+            final Map<T, Set<InstanceIdentifier<?>>> implementations) {
+        final Map<SchemaPath, Method> rpcs = getCodec().getRpcMethodToSchemaPath(type).inverse();
+
+        // Adapters are distinct objects, hence there is no point in invoking their equals()
+        final Map<DOMRpcImplementation, Set<DOMRpcIdentifier>> domImpls = new IdentityHashMap<>();
+        for (Entry<T, Set<InstanceIdentifier<?>>> entry : implementations.entrySet()) {
+            final Set<InstanceIdentifier<?>> paths = entry.getValue();
+            domImpls.put(new BindingDOMRpcImplementationAdapter(getCodec().getCodecRegistry(), type, rpcs,
+                entry.getKey()), createDomRpcIdentifiers(rpcs.keySet(),
+                    paths.isEmpty() ? GLOBAL : toYangInstanceIdentifiers(paths)));
+        }
+        return getDelegate().registerRpcImplementations(domImpls);
+    }
+
     private <S extends RpcService, T extends S> ObjectRegistration<T> register(final Class<S> type,
             final T implementation, final Collection<YangInstanceIdentifier> rpcContextPaths) {
         final Map<SchemaPath, Method> rpcs = getCodec().getRpcMethodToSchemaPath(type).inverse();
@@ -36,6 +36,9 @@ final class LazyDOMRpcResultFuture extends AbstractFuture<DOMRpcResult> implemen
         }
     };
 
+    // Successful invocations without output are common, they can share the same immutable result
+    private static final DOMRpcResult EMPTY_RESULT = new DefaultDOMRpcResult((NormalizedNode<?, ?>) null);
+
     private final ListenableFuture<RpcResult<?>> bindingFuture;
     private final BindingNormalizedNodeSerializer codec;
     private volatile DOMRpcResult result;
@@ -117,7 +120,7 @@ final class LazyDOMRpcResultFuture extends AbstractFuture<DOMRpcResult> implemen
                 return new DefaultDOMRpcResult(codec.toNormalizedNodeRpcData((DataContainer) inputData));
             }
 
-            return new DefaultDOMRpcResult((NormalizedNode<?, ?>) null);
+            return EMPTY_RESULT;
         }
         return new DefaultDOMRpcResult(input.getErrors());
     }
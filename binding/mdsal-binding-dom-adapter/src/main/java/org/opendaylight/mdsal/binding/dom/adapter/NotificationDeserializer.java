@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.MapMaker;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.mdsal.dom.api.DOMEvent;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Converts {@link DOMNotification}s to their Binding representation on behalf of all
+ * {@link BindingDOMNotificationListenerAdapter}s of a {@link BindingDOMNotificationServiceAdapter}. A notification
+ * is delivered to each listener adapter separately. Notifications of a type with a single registered listener are
+ * converted directly. Notifications of a type with multiple registered listeners have a memoized Binding view attached
+ * to them, so that each of them is converted exactly once.
+ *
+ * <p>
+ * Views are attached through a map with weak identity keys, hence they do not keep notifications alive once they have
+ * been delivered.
+ */
+final class NotificationDeserializer {
+    /**
+     * Binding view of a single DOMNotification. It must not reference the DOMNotification, as that would prevent
+     * it from being garbage-collected.
+     */
+    private static final class BindingView {
+        private volatile Notification notification;
+
+        @NonNull Notification get(final NotificationDeserializer deserializer, final DOMNotification domNotification) {
+            Notification local = notification;
+            if (local == null) {
+                synchronized (this) {
+                    local = notification;
+                    if (local == null) {
+                        local = deserializer.convert(domNotification);
+                        notification = local;
+                    }
+                }
+            }
+            return local;
+        }
+    }
+
+    private final ConcurrentMap<DOMNotification, BindingView> views = new MapMaker().weakKeys().makeMap();
+    private final ConcurrentMap<SchemaPath, Integer> listenerCounts = new ConcurrentHashMap<>();
+    private final @NonNull BindingNormalizedNodeSerializer codec;
+
+    NotificationDeserializer(final BindingNormalizedNodeSerializer codec) {
+        this.codec = requireNonNull(codec);
+    }
+
+    /**
+     * Account for a listener of specified notification types. Notifications of types with more than one listener
+     * are memoized.
+     *
+     * @param types Notification types the listener is registered for
+     */
+    void addListener(final Set<SchemaPath> types) {
+        for (SchemaPath type : types) {
+            listenerCounts.merge(type, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Stop accounting for a listener previously passed to {@link #addListener(Set)}.
+     *
+     * @param types Notification types the listener was registered for
+     */
+    void removeListener(final Set<SchemaPath> types) {
+        for (SchemaPath type : types) {
+            listenerCounts.computeIfPresent(type, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @NonNull Notification deserialize(final DOMNotification notification) {
+        if (notification instanceof LazySerializedDOMNotification) {
+            // TODO: This is a routed-back notification, for which we may end up losing event time here, but that is
+            //       okay, for now at least.
+            return ((LazySerializedDOMNotification) notification).getBindingData();
+        }
+
+        // A notification with a single listener is delivered once, hence there is nothing to share
+        final Integer count = listenerCounts.get(notification.getType());
+        if (count == null || count < 2) {
+            return convert(notification);
+        }
+
+        // Racing threads may create multiple views, but only one of them is attached and used by all of them
+        return views.computeIfAbsent(notification, key -> new BindingView()).get(this, notification);
+    }
+
+    private @NonNull Notification convert(final DOMNotification notification) {
+        return notification instanceof DOMEvent
+            ? codec.fromNormalizedNodeNotification(notification.getType(), notification.getBody(),
+                ((DOMEvent) notification).getEventInstant())
+                : codec.fromNormalizedNodeNotification(notification.getType(), notification.getBody());
+    }
+}
@@ -31,6 +31,10 @@ final class RpcResultUtil {
      * errors and checking whether they are just warnings.
      */
     static <T> RpcResult<T> rpcResultFromDOM(final Collection<? extends RpcError> errors, final @Nullable T result) {
+        if (errors.isEmpty()) {
+            // Common case, do not bother with streams
+            return RpcResultBuilder.success(result).build();
+        }
         return RpcResultBuilder.<T>status(errors.stream().noneMatch(err -> err.getSeverity() == ErrorSeverity.ERROR))
                 .withResult(result).withRpcErrors(errors).build();
     }
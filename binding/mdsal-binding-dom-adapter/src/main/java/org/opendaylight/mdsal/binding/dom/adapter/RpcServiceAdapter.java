@@ -11,6 +11,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 import static org.opendaylight.mdsal.binding.dom.adapter.StaticConfiguration.ENABLE_CODEC_SHORTCUT;
 
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -20,7 +21,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map.Entry;
 import java.util.Optional;
-import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
 import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.api.DOMRpcService;
@@ -115,9 +115,14 @@ class RpcServiceAdapter implements InvocationHandler {
     private abstract class RpcInvocationStrategy {
 
         private final SchemaPath rpcName;
+        private final SchemaPath outputName;
+        // Allocated once, so that we do not allocate a capturing lambda on each invocation
+        private final Function<DOMRpcResult, RpcResult<?>> resultTransformer = this::transformResult;
 
         protected RpcInvocationStrategy(final SchemaPath path) {
             rpcName = path;
+            outputName = path.createChild(YangConstants.operationOutputQName(path.getLastComponent().getModule())
+                .intern());
         }
 
         final ListenableFuture<RpcResult<?>> invoke(final DataObject input) {
@@ -140,24 +145,14 @@ class RpcServiceAdapter implements InvocationHandler {
                 return ((BindingRpcFutureAware) result).getBindingFuture();
             }
 
-            return transformFuture(schemaPath, result, codec.getCodecRegistry());
+            return Futures.transform(result, resultTransformer, MoreExecutors.directExecutor());
         }
 
-        private ListenableFuture<RpcResult<?>> transformFuture(final SchemaPath rpc,
-                final ListenableFuture<DOMRpcResult> domFuture, final BindingNormalizedNodeSerializer resultCodec) {
-            return Futures.transform(domFuture, input -> {
-                final NormalizedNode<?, ?> domData = input.getResult();
-                final DataObject bindingResult;
-                if (domData != null) {
-                    final SchemaPath rpcOutput = rpc.createChild(YangConstants.operationOutputQName(
-                        rpc.getLastComponent().getModule()));
-                    bindingResult = resultCodec.fromNormalizedNodeRpcData(rpcOutput, (ContainerNode) domData);
-                } else {
-                    bindingResult = null;
-                }
-
-                return RpcResultUtil.rpcResultFromDOM(input.getErrors(), bindingResult);
-            }, MoreExecutors.directExecutor());
+        private RpcResult<?> transformResult(final DOMRpcResult input) {
+            final NormalizedNode<?, ?> domData = input.getResult();
+            final DataObject bindingResult = domData == null ? null
+                : codec.getCodecRegistry().fromNormalizedNodeRpcData(outputName, (ContainerNode) domData);
+            return RpcResultUtil.rpcResultFromDOM(input.getErrors(), bindingResult);
         }
     }
 
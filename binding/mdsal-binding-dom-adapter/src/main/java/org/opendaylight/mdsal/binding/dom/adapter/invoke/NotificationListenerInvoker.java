@@ -34,10 +34,15 @@ import org.opendaylight.yangtools.yang.common.QName;
  * <p>
  * Notification Listener invoker provides common invocation interface for any subtype of {@link NotificationListener}.
  * via {@link #invokeNotification(NotificationListener, QName, DataContainer)} method.
+ *
+ * <p>
+ * Callbacks are invoked through {@link MethodHandle}s obtained from {@link MethodHandles#publicLookup()}. They do not
+ * require defining any classes, hence they work regardless of which class loader defines the listener interface.
  */
 public final class NotificationListenerInvoker {
-
     private static final Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, NotificationListener.class,
+        DataContainer.class);
 
     private static final LoadingCache<Class<? extends NotificationListener>, NotificationListenerInvoker> INVOKERS =
             CacheBuilder.newBuilder().weakKeys()
@@ -57,8 +62,7 @@ public final class NotificationListenerInvoker {
                             final QName name = BindingReflections.findQName(notification);
                             MethodHandle handle;
                             try {
-                                handle = LOOKUP.unreflect(method).asType(MethodType.methodType(void.class,
-                                    NotificationListener.class, DataContainer.class));
+                                handle = LOOKUP.unreflect(method).asType(INVOKER_TYPE);
                                 ret.put(name, handle);
                             } catch (final IllegalAccessException e) {
                                 throw new IllegalStateException("Can not access public method.", e);
@@ -101,7 +105,7 @@ public final class NotificationListenerInvoker {
     public void invokeNotification(final @NonNull NotificationListener impl, final @NonNull QName rpcName,
             final @Nullable DataContainer input) {
         requireNonNull(impl, "implemetation must be supplied");
-        final MethodHandle invoker = methodInvokers.get(rpcName);
+        final MethodHandle invoker = invokerFor(rpcName);
         checkArgument(invoker != null, "Supplied notification is not valid for implementation %s", impl);
         try {
             invoker.invokeExact(impl, input);
@@ -110,4 +114,17 @@ public final class NotificationListenerInvoker {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * Returns the invoker of the callback for specified notification. Callers which deliver notifications repeatedly
+     * should look the invoker up once and bind it into their own dispatch, rather than going through
+     * {@link #invokeNotification(NotificationListener, QName, DataContainer)}.
+     *
+     * @param notificationName Name of the notification
+     * @return Method handle of type {@code (NotificationListener, DataContainer)void}, or null if the notification
+     *         is not supported
+     */
+    public @Nullable MethodHandle invokerFor(final @NonNull QName notificationName) {
+        return methodInvokers.get(requireNonNull(notificationName));
+    }
 }
@@ -9,6 +9,8 @@ package org.opendaylight.mdsal.binding.dom.adapter;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -81,6 +83,15 @@ public class LazyDOMRpcResultFutureTest {
         assertNotNull(lazyDOMRpcResultFuture.get());
     }
 
+    @Test
+    public void emptyResultShared() throws Exception {
+        doReturn(null).when(domRpcResult).getResult();
+        final LazyDOMRpcResultFuture other = LazyDOMRpcResultFuture.create(codec, future);
+        assertSame(lazyDOMRpcResultFuture.get(), other.get());
+        assertNull(other.get().getResult());
+        assertTrue(other.get().getErrors().isEmpty());
+    }
+
     @SuppressWarnings({"checkstyle:IllegalThrows", "checkstyle:IllegalCatch", "checkstyle:avoidHidingCauseException"})
     @Test(expected = InterruptedException.class)
     public void checkedGetWithException() throws Throwable {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.OpendaylightMdsalBindingTestListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TwoLevelListChanged;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TwoLevelListChangedBuilder;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class NotificationDeserializerTest {
+    private final BindingNormalizedNodeSerializer codec = mock(BindingNormalizedNodeSerializer.class);
+    private final NotificationDeserializer deserializer = new NotificationDeserializer(codec);
+
+    @Test
+    public void testSingleListener() {
+        final TwoLevelListChanged notification = new TwoLevelListChangedBuilder().build();
+        final DOMNotification domNotification = mockNotification(SchemaPath.ROOT);
+        doReturn(notification).when(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, domNotification.getBody());
+
+        // A single listener receives each notification once, hence it is converted without being memoized
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+        assertSame(notification, deserializer.deserialize(domNotification));
+        assertSame(notification, deserializer.deserialize(domNotification));
+        verify(codec, times(2)).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testRemovedListener() {
+        final TwoLevelListChanged notification = new TwoLevelListChangedBuilder().build();
+        final DOMNotification domNotification = mockNotification(SchemaPath.ROOT);
+        doReturn(notification).when(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, domNotification.getBody());
+
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+        assertSame(notification, deserializer.deserialize(domNotification));
+        assertSame(notification, deserializer.deserialize(domNotification));
+        verify(codec).fromNormalizedNodeNotification(any(), any());
+
+        // Once the type is down to a single listener, notifications are no longer memoized
+        deserializer.removeListener(Set.of(SchemaPath.ROOT));
+        assertSame(notification, deserializer.deserialize(domNotification));
+        verify(codec, times(2)).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testDeserializedOnce() {
+        final TwoLevelListChanged first = new TwoLevelListChangedBuilder().build();
+        final TwoLevelListChanged second = new TwoLevelListChangedBuilder().build();
+        final DOMNotification firstDom = mockNotification(SchemaPath.ROOT);
+        final DOMNotification secondDom = mockNotification(SchemaPath.ROOT);
+        doReturn(first).when(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, firstDom.getBody());
+        doReturn(second).when(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, secondDom.getBody());
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+
+        // Repeated deliveries of the same notification are converted only once
+        for (int i = 0; i < 3; ++i) {
+            assertSame(first, deserializer.deserialize(firstDom));
+        }
+        verify(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, firstDom.getBody());
+
+        assertSame(second, deserializer.deserialize(secondDom));
+        assertSame(second, deserializer.deserialize(secondDom));
+        verify(codec, times(2)).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testMultipleListeners() {
+        final SchemaPath type = SchemaPath.create(true, TwoLevelListChanged.QNAME);
+        final TwoLevelListChanged notification = new TwoLevelListChangedBuilder().build();
+        final DOMNotification domNotification = mockNotification(type);
+        doReturn(notification).when(codec).fromNormalizedNodeNotification(type, domNotification.getBody());
+
+        final List<OpendaylightMdsalBindingTestListener> listeners = new ArrayList<>();
+        final List<BindingDOMNotificationListenerAdapter> adapters = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final OpendaylightMdsalBindingTestListener listener = mock(OpendaylightMdsalBindingTestListener.class);
+            doNothing().when(listener).onTwoLevelListChanged(any());
+            listeners.add(listener);
+            final BindingDOMNotificationListenerAdapter adapter =
+                new BindingDOMNotificationListenerAdapter(deserializer, listener);
+            deserializer.addListener(adapter.getSupportedNotifications());
+            adapters.add(adapter);
+        }
+
+        // Each listener receives the same Binding notification, which is converted only once
+        adapters.forEach(adapter -> adapter.onNotification(domNotification));
+        listeners.forEach(listener -> verify(listener).onTwoLevelListChanged(notification));
+        verify(codec).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testUnsupportedNotification() {
+        final OpendaylightMdsalBindingTestListener listener = notification -> {
+            throw new AssertionError("Unexpected notification " + notification);
+        };
+        final BindingDOMNotificationListenerAdapter adapter =
+            new BindingDOMNotificationListenerAdapter(deserializer, listener);
+
+        // Notifications the listener does not support are rejected before being converted
+        assertThrows(IllegalArgumentException.class,
+            () -> adapter.onNotification(mockNotification(SchemaPath.ROOT)));
+        verify(codec, never()).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testConcurrentDeserialization() throws Exception {
+        final TwoLevelListChanged notification = new TwoLevelListChangedBuilder().build();
+        final DOMNotification domNotification = mockNotification(SchemaPath.ROOT);
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return notification;
+        }).when(codec).fromNormalizedNodeNotification(SchemaPath.ROOT, domNotification.getBody());
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+        deserializer.addListener(Set.of(SchemaPath.ROOT));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Notification>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(() -> deserializer.deserialize(domNotification)));
+            }
+
+            // Threads delivering the notification while it is being converted wait for the conversion to finish
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<Notification> future : futures) {
+                assertSame(notification, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(codec).fromNormalizedNodeNotification(any(), any());
+    }
+
+    @Test
+    public void testRoutedBack() {
+        final TwoLevelListChanged notification = new TwoLevelListChangedBuilder().build();
+        assertSame(notification, deserializer.deserialize(LazySerializedDOMNotification.create(codec, notification,
+            Instant.now())));
+        verify(codec, never()).fromNormalizedNodeNotification(any(), any());
+    }
+
+    private static DOMNotification mockNotification(final SchemaPath type) {
+        final DOMNotification ret = mock(DOMNotification.class);
+        doReturn(type).when(ret).getType();
+        doReturn(mock(ContainerNode.class)).when(ret).getBody();
+        return ret;
+    }
+}
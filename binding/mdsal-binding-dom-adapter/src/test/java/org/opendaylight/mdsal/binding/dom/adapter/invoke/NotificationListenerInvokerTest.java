@@ -7,16 +7,22 @@
  */
 package org.opendaylight.mdsal.binding.dom.adapter.invoke;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.invoke.WrongMethodTypeException;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.Notification;
 import org.opendaylight.yangtools.yang.binding.NotificationListener;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -50,6 +56,26 @@ public class NotificationListenerInvokerTest {
         fail("Expected WrongMethodTypeException, no method to invoke is supplied");
     }
 
+    @Test
+    @SuppressWarnings("checkstyle:illegalThrows")
+    public void invokerForTest() throws Throwable {
+        final TestInterface listener = mock(TestInterface.class);
+        final TestNotificationInterface notification = mock(TestNotificationInterface.class);
+
+        final NotificationListenerInvoker invoker = NotificationListenerInvoker.from(TestInterface.class);
+        assertNull(invoker.invokerFor(QName.create("test", "other")));
+
+        final MethodHandle handle = invoker.invokerFor(TestInterface.QNAME);
+        assertNotNull(handle);
+        assertEquals(MethodType.methodType(void.class, NotificationListener.class, DataContainer.class),
+            handle.type());
+        handle.invokeExact((NotificationListener) listener, (DataContainer) notification);
+        verify(listener).onTestNotificationInterface(notification);
+
+        invoker.invokeNotification(listener, TestInterface.QNAME, notification);
+        verify(listener, times(2)).onTestNotificationInterface(notification);
+    }
+
     public interface TestInterface extends NotificationListener, Augmentation {
         QName QNAME = QName.create("test", "test");
         void onTestNotificationInterface(TestNotificationInterface notif);
@@ -108,6 +108,22 @@ public class ForwardedNotificationAdapterTest extends AbstractNotificationBroker
         listenerRegistration.close();
     }
 
+    @Test
+    public void testNotifSubscriptionBatch() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final List<TwoLevelListChanged> testData = List.of(createTestData(), createTestData(), createTestData());
+
+        final TestNotifListener testNotifListener = new TestNotifListener(latch);
+        final ListenerRegistration<TestNotifListener> listenerRegistration = getNotificationService()
+                .registerNotificationListener(testNotifListener);
+        getNotificationPublishService().putNotifications(testData).get(5, TimeUnit.SECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(testData, testNotifListener.getReceivedNotifications());
+
+        listenerRegistration.close();
+    }
+
     private static class TestNotifListener implements OpendaylightMdsalBindingTestListener {
         private final List<TwoLevelListChanged> receivedNotifications = new ArrayList<>();
         private final CountDownLatch latch;
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+
+/**
+ * CoalescingDOMDataTreeChangeListener is a marker interface requesting coalesced delivery of data tree change
+ * notifications.
+ *
+ * <p>
+ * Implementations which support it do not queue each {@link DataTreeCandidate} for delivery, but rather merge
+ * candidates rooted at the same path into a single candidate while the listener is busy processing a previous batch.
+ * The merged candidate reflects the state before the first and after the last merged change, hence intermediate
+ * states are not observed. This bounds the memory used by pending notifications of a slow listener by the number of
+ * distinct paths it is interested in, and delivers fewer, larger batches. Implementations may further limit the number
+ * of distinct paths pending delivery, in which case they coalesce pending changes into a candidate rooted at their
+ * common ancestor. Such a candidate may be rooted above the path the listener has registered for.
+ *
+ * <p>
+ * Implementations which do not support coalescing treat such listeners as a plain {@link DOMDataTreeChangeListener}.
+ */
+public interface CoalescingDOMDataTreeChangeListener extends DOMDataTreeChangeListener {
+}
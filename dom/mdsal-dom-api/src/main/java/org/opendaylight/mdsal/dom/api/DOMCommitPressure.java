@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+/**
+ * Level of pressure on the commit path of a {@link DOMDataBroker}, as reported by
+ * {@link DOMDataBrokerCommitPressureService}.
+ */
+public enum DOMCommitPressure {
+    /**
+     * The number of outstanding commits is at or below the low watermark, or has not yet reached the high watermark.
+     * Producers can submit transactions freely.
+     */
+    NORMAL,
+    /**
+     * The number of outstanding commits has reached the high watermark. Producers should slow down until the pressure
+     * returns to {@link #NORMAL}.
+     */
+    HIGH,
+    /**
+     * The commit queue is full. Transactions committed in this state will fail with
+     * {@link org.opendaylight.mdsal.common.api.TransactionCommitFailedException}.
+     */
+    SATURATED
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import java.util.EventListener;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * An {@link EventListener} used to track changes in {@link DOMCommitPressure} of a {@link DOMDataBroker}.
+ */
+public interface DOMCommitPressureListener extends EventListener {
+    /**
+     * Invoked when the commit pressure changes. This method is invoked synchronously from the thread which caused
+     * the change, implementations should therefore return quickly and must not block.
+     *
+     * @param pressure new commit pressure
+     */
+    void onCommitPressureChanged(@NonNull DOMCommitPressure pressure);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * A {@link DOMDataBrokerExtension} exposed by brokers which bound the number of outstanding commits. It allows
+ * producers to observe the pressure on the commit path and throttle themselves before their commits start failing.
+ */
+public interface DOMDataBrokerCommitPressureService extends DOMDataBrokerExtension {
+    /**
+     * Return current commit pressure.
+     *
+     * @return Current commit pressure
+     */
+    @NonNull DOMCommitPressure getCommitPressure();
+
+    /**
+     * Register a listener for commit pressure changes. The listener is not notified of the current state, which can
+     * be queried via {@link #getCommitPressure()}.
+     *
+     * @param listener Listener to register
+     * @param <L> Listener type
+     * @return Listener registration, which needs to be closed once the listener is no longer needed
+     * @throws NullPointerException if listener is null
+     */
+    <L extends DOMCommitPressureListener> @NonNull ListenerRegistration<L> registerCommitPressureListener(
+            @NonNull L listener);
+}
@@ -7,7 +7,11 @@
  */
 package org.opendaylight.mdsal.dom.api;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.eclipse.jdt.annotation.NonNull;
@@ -64,6 +68,42 @@ public interface DOMNotificationPublishService extends DOMService {
     @NonNull ListenableFuture<? extends Object> putNotification(@NonNull DOMNotification notification)
             throws InterruptedException;
 
+    /**
+     * Publish a notification without tracking its delivery. This method behaves like
+     * {@link #putNotification(DOMNotification)}, including blocking the calling thread when the implementation
+     * is running out of resources, except it does not report when the notification has been delivered. Publishers
+     * which do not use the result of {@link #putNotification(DOMNotification)} should prefer this method, as it
+     * allows implementations to skip the bookkeeping associated with the returned future.
+     *
+     * @param notification Notification to be published.
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if notification is null.
+     */
+    default void publishNotification(final @NonNull DOMNotification notification) throws InterruptedException {
+        putNotification(notification);
+    }
+
+    /**
+     * Publish a batch of notifications. This method is semantically equivalent to invoking
+     * {@link #putNotification(DOMNotification)} for each notification in iteration order, except it
+     * reports a single aggregate future. Implementations are encouraged to override it in order to
+     * amortize the cost of accepting notifications across the whole batch.
+     *
+     * @param notifications Notifications to be published.
+     * @return A listenable future which will report completion when the service has finished
+     *         propagating all notifications to their immediate registrants.
+     * @throws InterruptedException if interrupted while waiting
+     * @throws NullPointerException if notifications or any of its elements is null.
+     */
+    default @NonNull ListenableFuture<? extends Object> putNotifications(
+            final @NonNull Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        final List<ListenableFuture<?>> futures = new ArrayList<>(notifications.size());
+        for (DOMNotification notification : notifications) {
+            futures.add(putNotification(notification));
+        }
+        return Futures.allAsList(futures);
+    }
+
     /**
      * Attempt to publish a notification. The result of this method is a {@link ListenableFuture}
      * which will complete once the notification has been delivered to all immediate registrants.
@@ -7,8 +7,13 @@
  */
 package org.opendaylight.mdsal.dom.api;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.AbstractRegistration;
+import org.opendaylight.yangtools.concepts.Registration;
 
 /**
  * A {@link DOMService} which allows registration of RPC implementations with a conceptual router. The client
@@ -39,4 +44,37 @@ public interface DOMRpcProviderService extends DOMService {
      */
     @NonNull <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T>
         registerRpcImplementation(@NonNull T implementation, @NonNull Set<DOMRpcIdentifier> rpcs);
+
+    /**
+     * Register multiple {@link DOMRpcImplementation} objects with this service at once. Implementations are expected
+     * to make all of them available atomically, notifying each {@link DOMRpcAvailabilityListener} only once. The same
+     * applies to unregistration when the returned registration is closed.
+     *
+     * <p>
+     * Default implementation registers each implementation separately. If any of the registrations fails, the
+     * implementations registered before it are unregistered before the failure is propagated.
+     *
+     * @param implementations Map of RPC implementations to the sets of RPC identifiers they support. Each set must not
+     *                        be empty, or contain a null element.
+     * @return A {@link Registration} of all the implementations, guaranteed to be non-null.
+     * @throws NullPointerException if implementations is null or any set of identifiers contains a null element
+     * @throws IllegalArgumentException if any set of identifiers is empty
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    default @NonNull Registration registerRpcImplementations(
+            final @NonNull Map<? extends DOMRpcImplementation, ? extends Set<DOMRpcIdentifier>> implementations) {
+        final List<DOMRpcImplementationRegistration<?>> regs = new ArrayList<>(implementations.size());
+        try {
+            implementations.forEach((impl, rpcs) -> regs.add(registerRpcImplementation(impl, rpcs)));
+        } catch (RuntimeException e) {
+            regs.forEach(DOMRpcImplementationRegistration::close);
+            throw e;
+        }
+        return new AbstractRegistration() {
+            @Override
+            protected void removeRegistration() {
+                regs.forEach(DOMRpcImplementationRegistration::close);
+            }
+        };
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.Registration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcProviderServiceTest {
+    private static final DOMRpcIdentifier RPC = DOMRpcIdentifier.create(SchemaPath.ROOT);
+
+    private final List<DOMRpcImplementation> registered = new ArrayList<>();
+
+    private final DOMRpcProviderService service = new DOMRpcProviderService() {
+        @Override
+        public <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> registerRpcImplementation(
+                final T implementation, final DOMRpcIdentifier... rpcs) {
+            return registerRpcImplementation(implementation, ImmutableSet.copyOf(rpcs));
+        }
+
+        @Override
+        public <T extends DOMRpcImplementation> DOMRpcImplementationRegistration<T> registerRpcImplementation(
+                final T implementation, final Set<DOMRpcIdentifier> rpcs) {
+            if (rpcs.isEmpty()) {
+                throw new IllegalArgumentException("No RPCs specified for " + implementation);
+            }
+
+            registered.add(implementation);
+            return new DOMRpcImplementationRegistration<>() {
+                @Override
+                public T getInstance() {
+                    return implementation;
+                }
+
+                @Override
+                public void close() {
+                    registered.remove(implementation);
+                }
+            };
+        }
+    };
+
+    @Test
+    public void testRegisterRpcImplementations() {
+        final DOMRpcImplementation first = (rpc, input) -> null;
+        final DOMRpcImplementation second = (rpc, input) -> null;
+
+        final Registration reg = service.registerRpcImplementations(Map.of(first, Set.of(RPC), second, Set.of(RPC)));
+        assertEquals(2, registered.size());
+        reg.close();
+        assertTrue(registered.isEmpty());
+    }
+
+    @Test
+    public void testFailedRegistrationIsRolledBack() {
+        final Map<DOMRpcImplementation, Set<DOMRpcIdentifier>> impls = new LinkedHashMap<>();
+        impls.put((rpc, input) -> null, Set.of(RPC));
+        impls.put((rpc, input) -> null, Set.of(RPC));
+        impls.put((rpc, input) -> null, Set.of());
+
+        assertThrows(IllegalArgumentException.class, () -> service.registerRpcImplementations(impls));
+        assertTrue(registered.isEmpty());
+    }
+}
@@ -7,9 +7,12 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableClassToInstanceMap;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -19,13 +22,16 @@ import org.opendaylight.mdsal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
 import org.opendaylight.mdsal.dom.api.DOMTransactionChain;
 import org.opendaylight.mdsal.dom.api.DOMTransactionChainListener;
 import org.opendaylight.mdsal.dom.spi.PingPongMergingDOMDataBroker;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreTransactionChain;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreTreeChangePublisher;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,11 +42,14 @@ public abstract class AbstractDOMDataBroker extends AbstractDOMForwardedTransact
     private final AtomicLong txNum = new AtomicLong();
     private final AtomicLong chainNum = new AtomicLong();
     private final ClassToInstanceMap<DOMDataBrokerExtension> extensions;
+    private final DurationStatisticsTracker commitStatsTracker = DurationStatisticsTracker.createConcurrent();
+    private final CommitLatencyStatistics commitLatencyStatistics;
 
     private volatile AutoCloseable closeable;
 
     protected AbstractDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores) {
         super(datastores);
+        commitLatencyStatistics = new CommitLatencyStatistics(getTxFactories().keySet());
 
         boolean treeChange = true;
         for (DOMStore ds : datastores.values()) {
@@ -69,6 +78,25 @@ public abstract class AbstractDOMDataBroker extends AbstractDOMForwardedTransact
         }
     }
 
+    /**
+     * Return latency statistics of commits coordinated by this broker. Implementations which do not track latencies
+     * leave the histograms empty.
+     *
+     * @return commit latency statistics
+     */
+    public final CommitLatencyStatistics getCommitLatencyStatistics() {
+        return commitLatencyStatistics;
+    }
+
+    /**
+     * Return duration statistics of commits coordinated by this broker.
+     *
+     * @return commit duration statistics
+     */
+    public final DurationStatisticsTracker getCommitStatsTracker() {
+        return commitStatsTracker;
+    }
+
     public void setCloseable(final AutoCloseable closeable) {
         this.closeable = closeable;
     }
@@ -87,6 +115,12 @@ public abstract class AbstractDOMDataBroker extends AbstractDOMForwardedTransact
         }
     }
 
+    static void checkCommitArguments(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        checkArgument(transaction != null, "Transaction must not be null.");
+        checkArgument(cohorts != null, "Cohorts must not be null.");
+    }
+
     @Override
     protected Object newTransactionIdentifier() {
         return "DOM-" + txNum.getAndIncrement();
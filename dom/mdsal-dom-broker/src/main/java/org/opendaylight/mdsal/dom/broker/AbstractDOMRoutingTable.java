@@ -12,8 +12,6 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
@@ -30,7 +28,9 @@ import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
- * Abstract routing table definition for Action and RPC.
+ * Abstract routing table definition for Action and RPC. Both the table and its entries are backed by
+ * {@link PersistentHashMap}s, hence an update costs O(log n) in the number of operations and their contexts, while
+ * instances remain immutable and can be read without any locking.
  * @param <I> instance type of RPC or Acton
  * @param <D> identifier type of RPC or Acton
  * @param <M> implementation type of RPC or Acton
@@ -40,26 +40,26 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 @Beta
 abstract class AbstractDOMRoutingTable<I, D, M, L extends EventListener,
         E extends AbstractDOMRoutingTableEntry<D, M, L>> {
-    private final Map<SchemaPath, E> operations;
+    private final PersistentHashMap<SchemaPath, E> operations;
     private final EffectiveModelContext schemaContext;
 
     AbstractDOMRoutingTable(final Map<SchemaPath, E> operations, final EffectiveModelContext schemaContext) {
-        this.operations = requireNonNull(operations);
+        this.operations = PersistentHashMap.copyOf(requireNonNull(operations));
         this.schemaContext = schemaContext;
     }
 
     AbstractDOMRoutingTable<I, D, M, L, E> setSchemaContext(final EffectiveModelContext context) {
-        final Builder<SchemaPath, E> b = ImmutableMap.builder();
+        PersistentHashMap<SchemaPath, E> b = PersistentHashMap.of();
 
         for (Entry<SchemaPath, E> e : operations.entrySet()) {
             final E entry = createOperationEntry(context, e.getKey(),
                 e.getValue().getImplementations());
             if (entry != null) {
-                b.put(e.getKey(), entry);
+                b = b.plus(e.getKey(), entry);
             }
         }
 
-        return newInstance(b.build(), context);
+        return newInstance(b, context);
     }
 
     AbstractDOMRoutingTable<I, D, M, L, E> add(final M implementation, final Set<I> oprsToAdd) {
@@ -70,34 +70,28 @@ abstract class AbstractDOMRoutingTable<I, D, M, L extends EventListener,
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, D> toAdd = decomposeIdentifiers(oprsToAdd);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, E> mb = ImmutableMap.builder();
-        for (Entry<SchemaPath, E> re : this.operations.entrySet()) {
-            List<D> newOperations = new ArrayList<>(toAdd.removeAll(re.getKey()));
-            if (!newOperations.isEmpty()) {
-                final E ne = (E) re.getValue().add(implementation, newOperations);
-                mb.put(re.getKey(), ne);
-            } else {
-                mb.put(re);
+        // Now update existing entries or create new ones, touching only the affected operations
+        PersistentHashMap<SchemaPath, E> mb = operations;
+        for (Entry<SchemaPath, Collection<D>> e : toAdd.asMap().entrySet()) {
+            final E existing = operations.get(e.getKey());
+            if (existing != null) {
+                mb = mb.plus(e.getKey(), (E) existing.add(implementation, new ArrayList<>(e.getValue())));
+                continue;
             }
-        }
 
-        // Finally add whatever is left in the decomposed multimap
-        for (Entry<SchemaPath, Collection<D>> e : toAdd.asMap().entrySet()) {
-            final Builder<D, List<M>> vb = ImmutableMap.builder();
+            PersistentHashMap<D, List<M>> vb = PersistentHashMap.of();
             final List<M> v = ImmutableList.of(implementation);
             for (D i : e.getValue()) {
-                vb.put(i, v);
+                vb = vb.plus(i, v);
             }
 
-            final E entry = createOperationEntry(schemaContext, e.getKey(),
-                vb.build());
+            final E entry = createOperationEntry(schemaContext, e.getKey(), vb);
             if (entry != null) {
-                mb.put(e.getKey(), entry);
+                mb = mb.plus(e.getKey(), entry);
             }
         }
 
-        return newInstance(mb.build(), schemaContext);
+        return newInstance(mb, schemaContext);
     }
 
     AbstractDOMRoutingTable<I, D, M, L, E> remove(final M implementation, final Set<I> instances) {
@@ -108,22 +102,17 @@ abstract class AbstractDOMRoutingTable<I, D, M, L extends EventListener,
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, D> toRemove = decomposeIdentifiers(instances);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, E> b = ImmutableMap.builder();
-        for (Entry<SchemaPath, E> e : this.operations.entrySet()) {
-            final List<D> removed = new ArrayList<>(toRemove.removeAll(e.getKey()));
-            if (!removed.isEmpty()) {
-                final E ne = (E) e.getValue().remove(implementation, removed);
-                if (ne != null) {
-                    b.put(e.getKey(), ne);
-                }
-            } else {
-                b.put(e);
+        // Now update the affected entries, whatever is not there was not registered in the first place
+        PersistentHashMap<SchemaPath, E> b = operations;
+        for (Entry<SchemaPath, Collection<D>> e : toRemove.asMap().entrySet()) {
+            final E existing = operations.get(e.getKey());
+            if (existing != null) {
+                final E ne = (E) existing.remove(implementation, new ArrayList<>(e.getValue()));
+                b = ne != null ? b.plus(e.getKey(), ne) : b.minus(e.getKey());
             }
         }
 
-        // All done, whatever is in toRemove, was not there in the first place
-        return newInstance(b.build(), schemaContext);
+        return newInstance(b, schemaContext);
     }
 
     @VisibleForTesting
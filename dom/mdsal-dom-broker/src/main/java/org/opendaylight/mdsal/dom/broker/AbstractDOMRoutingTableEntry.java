@@ -11,31 +11,30 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EventListener;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
- * Abstract routing table entry definition for Action and RPC.
+ * Abstract routing table entry definition for Action and RPC. Implementations are held in a
+ * {@link PersistentHashMap}, hence adding or removing an implementation does not copy implementations of all other
+ * identifiers.
  * @param <D> identifier type of RPC or Acton
  * @param <M> implementation type of RPC or Acton
  * @param <L> listener type of RPC or Acton
  */
 @Beta
 abstract class AbstractDOMRoutingTableEntry<D, M, L extends EventListener> {
-    private final Map<D, List<M>> implementations;
+    private final PersistentHashMap<D, List<M>> implementations;
     private final SchemaPath type;
 
     AbstractDOMRoutingTableEntry(final SchemaPath type, final Map<D, List<M>> implementations) {
         this.type = requireNonNull(type);
-        this.implementations = requireNonNull(implementations);
+        this.implementations = PersistentHashMap.copyOf(implementations);
     }
 
     SchemaPath getType() {
@@ -61,52 +60,46 @@ abstract class AbstractDOMRoutingTableEntry<D, M, L extends EventListener> {
      * This method adds the given DOMOperationImplementation instance for the given list operation identifiers.
      *
      * @param implementation the DOMOperationImplementation instance to add
-     * @param newOprs  the List of new RPCs/Actions that the DOMOperationImplementation provides, must be mutable
+     * @param newOprs  the List of new RPCs/Actions that the DOMOperationImplementation provides
      * @return a new instance of DOMActionRoutingTableEntry with the additions
      */
     AbstractDOMRoutingTableEntry<D, M, L> add(final M implementation, final List<D> newOprs) {
-        final Builder<D, List<M>> vb = ImmutableMap.builder();
-        for (final Entry<D, List<M>> ve : implementations.entrySet()) {
-            if (newOprs.remove(ve.getKey())) {
-                final List<M> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
+        PersistentHashMap<D, List<M>> impls = implementations;
+        for (final D ii : newOprs) {
+            final List<M> existing = impls.get(ii);
+            final List<M> i;
+            if (existing != null) {
+                i = new ArrayList<>(existing.size() + 1);
+                i.addAll(existing);
                 i.add(implementation);
 
                 // New implementation is at the end, this will move it to be the last among implementations
                 // with equal cost -- relying on sort() being stable.
                 i.sort(implComparator());
-                vb.put(ve.getKey(), i);
             } else {
-                vb.put(ve);
+                i = new ArrayList<>(1);
+                i.add(implementation);
             }
-        }
-        for (final D ii : newOprs) {
-            final List<M> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii, impl);
+            impls = impls.plus(ii, i);
         }
 
-        return newInstance(vb.build());
+        return newInstance(impls);
     }
 
     AbstractDOMRoutingTableEntry<D, M, L> remove(final M implementation, final List<D> removed) {
-        final Builder<D, List<M>> vb = ImmutableMap.builder();
-        for (final Entry<D, List<M>> ve : implementations.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final List<M> i = new ArrayList<>(ve.getValue());
+        PersistentHashMap<D, List<M>> impls = implementations;
+        for (final D ii : removed) {
+            final List<M> existing = impls.get(ii);
+            if (existing != null) {
+                final List<M> i = new ArrayList<>(existing);
                 i.remove(implementation);
                 // We could trimToSize(), but that may perform another copy just to get rid
                 // of a single element. That is probably not worth the trouble.
-                if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
-                }
-            } else {
-                vb.put(ve);
+                impls = i.isEmpty() ? impls.minus(ii) : impls.plus(ii, i);
             }
         }
 
-        final Map<D, List<M>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(vb.build());
+        return impls.isEmpty() ? null : newInstance(impls);
     }
 
     protected abstract Comparator<M> implComparator();
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.CommitLatencyStatistics.CommitPhase;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of non-blocking three-phase commit-coordination tasks without support of cancellation. Each phase
+ * is started once all cohorts have completed the previous one, by chaining callbacks on the futures returned by
+ * {@link DOMStoreThreePhaseCommitCohort}s. No thread is parked waiting for a cohort to respond.
+ */
+final class AsyncCommitCoordinationTask {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncCommitCoordinationTask.class);
+
+    private final SettableFuture<CommitInfo> future = SettableFuture.create();
+    private final Collection<DOMStoreThreePhaseCommitCohort> cohorts;
+    private final DurationStatisticsTracker commitStatTracker;
+    private final CommitLatencyStatistics latencyStats;
+    private final DOMDataTreeWriteTransaction tx;
+    private final long submitTime;
+
+    private long startTime;
+
+    AsyncCommitCoordinationTask(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts,
+            final DurationStatisticsTracker commitStatTracker) {
+        this(transaction, cohorts, commitStatTracker, null);
+    }
+
+    AsyncCommitCoordinationTask(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts,
+            final DurationStatisticsTracker commitStatTracker, final CommitLatencyStatistics latencyStats) {
+        this.tx = requireNonNull(transaction, "transaction must not be null");
+        this.cohorts = requireNonNull(cohorts, "cohorts must not be null");
+        this.commitStatTracker = commitStatTracker;
+        this.latencyStats = latencyStats;
+        this.submitTime = latencyStats != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Return the future which completes when the transaction commits, or fails with a
+     * {@link TransactionCommitFailedException} when any of the phases fails.
+     *
+     * @return Commit future
+     */
+    FluentFuture<CommitInfo> future() {
+        return FluentFuture.from(future);
+    }
+
+    /**
+     * Start the commit process. This method must be invoked at most once.
+     *
+     * @return A future which completes when the transaction commits, or fails with a
+     *         {@link TransactionCommitFailedException} when any of the phases fails.
+     */
+    FluentFuture<CommitInfo> start() {
+        startTime = commitStatTracker != null || latencyStats != null ? System.nanoTime() : 0;
+        if (latencyStats != null) {
+            latencyStats.recordPhase(CommitPhase.QUEUE, startTime - submitTime);
+        }
+
+        runPhase(CommitPhase.CAN_COMMIT, DOMStoreThreePhaseCommitCohort::canCommit, result -> {
+            for (Object vote : result) {
+                if (!Boolean.TRUE.equals(vote)) {
+                    handleFailure(CommitPhase.CAN_COMMIT, new TransactionCommitFailedException(
+                        "Can Commit failed, no detailed cause available."));
+                    return;
+                }
+            }
+            runPhase(CommitPhase.PRE_COMMIT, DOMStoreThreePhaseCommitCohort::preCommit,
+                ignored -> runPhase(CommitPhase.DO_COMMIT, DOMStoreThreePhaseCommitCohort::commit, unused -> {
+                    LOG.debug("Transaction {}: doCommit completed", tx.getIdentifier());
+                    recordDuration();
+                    future.set(CommitInfo.empty());
+                }));
+        });
+
+        return future();
+    }
+
+    /**
+     * Invoke a phase on all cohorts and proceed once they all complete it. A cohort failing, either through its
+     * future or by throwing an exception, results in the transaction being aborted.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void runPhase(final CommitPhase phase,
+            final Function<DOMStoreThreePhaseCommitCohort, ListenableFuture<?>> operation,
+            final Consumer<List<Object>> onSuccess) {
+        LOG.debug("Transaction {}: {} Started", tx.getIdentifier(), phase);
+        final long phaseStart = latencyStats != null ? System.nanoTime() : 0;
+        final ListenableFuture<?>[] ops = new ListenableFuture<?>[cohorts.size()];
+        int index = 0;
+        try {
+            for (final DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+                final ListenableFuture<?> op = operation.apply(cohort);
+                if (latencyStats != null) {
+                    final int cohortIndex = index;
+                    op.addListener(() -> latencyStats.recordCohort(cohortIndex, phase,
+                        System.nanoTime() - phaseStart), MoreExecutors.directExecutor());
+                }
+                ops[index++] = op;
+            }
+        } catch (RuntimeException e) {
+            handleFailure(phase, e);
+            return;
+        }
+
+        Futures.addCallback(Futures.allAsList(ops), new FutureCallback<List<Object>>() {
+            @Override
+            public void onSuccess(final List<Object> result) {
+                if (latencyStats != null) {
+                    latencyStats.recordPhase(phase, System.nanoTime() - phaseStart);
+                }
+                try {
+                    onSuccess.accept(result);
+                } catch (RuntimeException e) {
+                    // Guava would swallow this exception, leaving the commit future incomplete
+                    handleFailure(phase, e);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable cause) {
+                handleFailure(phase, cause);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void handleFailure(final CommitPhase phase, final Throwable cause) {
+        final TransactionCommitFailedException failure = mapException(phase, cause);
+        LOG.warn("Tx: {} Error during phase {}, starting Abort", tx.getIdentifier(), phase, failure);
+
+        final ListenableFuture<?>[] ops = new ListenableFuture<?>[cohorts.size()];
+        int index = 0;
+        try {
+            for (final DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+                ops[index++] = cohort.abort();
+            }
+        } catch (RuntimeException e) {
+            abortFailed(failure, e);
+            return;
+        }
+
+        /*
+         * We are waiting for all futures, not only succeeded ones in order to report abort failures.
+         * See Futures.allAsList for this description.
+         */
+        Futures.addCallback(Futures.allAsList(ops), new FutureCallback<List<Object>>() {
+            @Override
+            public void onSuccess(final List<Object> result) {
+                recordDuration();
+                future.setException(failure);
+            }
+
+            @Override
+            public void onFailure(final Throwable abortCause) {
+                abortFailed(failure, abortCause);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void abortFailed(final TransactionCommitFailedException failure, final Throwable abortCause) {
+        LOG.error("Tx: {} Error during Abort.", tx.getIdentifier(), abortCause);
+        recordDuration();
+        final IllegalStateException ise = new IllegalStateException("Abort failed.", abortCause);
+        ise.addSuppressed(failure);
+        future.setException(ise);
+    }
+
+    private void recordDuration() {
+        if (commitStatTracker != null || latencyStats != null) {
+            final long elapsed = System.nanoTime() - startTime;
+            if (commitStatTracker != null) {
+                commitStatTracker.addDuration(elapsed);
+            }
+            if (latencyStats != null) {
+                latencyStats.recordCommit(cohorts.size(), elapsed);
+            }
+        }
+    }
+
+    private static TransactionCommitFailedException mapException(final CommitPhase phase, final Throwable cause) {
+        if (cause instanceof TransactionCommitFailedException) {
+            return (TransactionCommitFailedException) cause;
+        }
+
+        final Exception ex = cause instanceof Exception ? (Exception) cause
+            : new RuntimeException("Unexpected error occurred", cause);
+        switch (phase) {
+            case CAN_COMMIT:
+                return TransactionCommitFailedExceptionMapper.CAN_COMMIT_ERROR_MAPPER.apply(ex);
+            case PRE_COMMIT:
+                return TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER.apply(ex);
+            case DO_COMMIT:
+                return TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER.apply(ex);
+            default:
+                throw new IllegalStateException("Unhandled phase " + phase);
+        }
+    }
+}
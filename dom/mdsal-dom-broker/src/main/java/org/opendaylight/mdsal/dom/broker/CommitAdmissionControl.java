@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.mdsal.dom.api.DOMCommitPressure;
+import org.opendaylight.mdsal.dom.api.DOMCommitPressureListener;
+import org.opendaylight.mdsal.dom.api.DOMDataBrokerCommitPressureService;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.util.ListenerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for commits. Tracks the number of outstanding commits, refuses to admit more than the configured
+ * capacity and reports {@link DOMCommitPressure} transitions based on high and low watermarks.
+ */
+final class CommitAdmissionControl implements DOMDataBrokerCommitPressureService {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitAdmissionControl.class);
+
+    private final ListenerRegistry<DOMCommitPressureListener> listeners = ListenerRegistry.create();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final int capacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    // Written only while holding this object's lock
+    private volatile DOMCommitPressure pressure = DOMCommitPressure.NORMAL;
+
+    CommitAdmissionControl(final int capacity, final int highWatermark, final int lowWatermark) {
+        checkArgument(capacity > 0, "Capacity %s is not positive", capacity);
+        checkArgument(highWatermark > 0 && highWatermark <= capacity,
+            "High watermark %s is not in range 1..%s", highWatermark, capacity);
+        checkArgument(lowWatermark >= 0 && lowWatermark < highWatermark,
+            "Low watermark %s is not in range 0..%s", lowWatermark, highWatermark - 1);
+        this.capacity = capacity;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    @Override
+    public DOMCommitPressure getCommitPressure() {
+        return pressure;
+    }
+
+    @Override
+    public <L extends DOMCommitPressureListener> ListenerRegistration<L> registerCommitPressureListener(
+            final L listener) {
+        return listeners.register(listener);
+    }
+
+    /**
+     * Attempt to admit a commit. If this method returns true, {@link #release()} has to be called once the commit
+     * completes.
+     *
+     * @return True if the commit has been admitted, false if the capacity has been exhausted.
+     */
+    boolean tryAcquire() {
+        int count;
+        do {
+            count = outstanding.get();
+            if (count >= capacity) {
+                return false;
+            }
+        } while (!outstanding.compareAndSet(count, count + 1));
+
+        updatePressure(count + 1);
+        return true;
+    }
+
+    void release() {
+        updatePressure(outstanding.decrementAndGet());
+    }
+
+    @VisibleForTesting
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    private void updatePressure(final int count) {
+        // Fast path: avoid locking if there is no transition to be made. This read can race with a transition being
+        // made concurrently, which is why the transition re-checks the count after it has published the new state.
+        if (pressureFor(count, pressure) != pressure) {
+            synchronized (this) {
+                // Transitions need to be made in order. Once we have published a new state, we need to re-evaluate it
+                // against the latest count: a concurrent update may have observed the previous state and skipped
+                // locking, in which case we are the ones responsible for making the transition it would have made.
+                while (true) {
+                    final DOMCommitPressure prev = pressure;
+                    final DOMCommitPressure next = pressureFor(outstanding.get(), prev);
+                    if (next == prev) {
+                        break;
+                    }
+                    LOG.debug("Commit pressure changed from {} to {}", prev, next);
+                    pressure = next;
+                    notifyListeners(next);
+                }
+            }
+        }
+    }
+
+    private DOMCommitPressure pressureFor(final int count, final DOMCommitPressure current) {
+        if (count >= capacity) {
+            return DOMCommitPressure.SATURATED;
+        }
+        if (count >= highWatermark) {
+            return DOMCommitPressure.HIGH;
+        }
+        if (count <= lowWatermark) {
+            return DOMCommitPressure.NORMAL;
+        }
+        return current == DOMCommitPressure.SATURATED ? DOMCommitPressure.HIGH : current;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void notifyListeners(final DOMCommitPressure next) {
+        listeners.streamListeners().forEach(listener -> {
+            try {
+                listener.onCommitPressureChanged(next);
+            } catch (Exception e) {
+                LOG.warn("Listener {} failed to process commit pressure change to {}", listener, next, e);
+            }
+        });
+    }
+}
@@ -19,6 +19,7 @@ import java.util.concurrent.ExecutionException;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.CommitLatencyStatistics.CommitPhase;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.slf4j.Logger;
@@ -26,6 +27,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of blocking three-phase commit-coordination tasks without support of cancellation.
+ *
+ * <p>
+ * Besides running all three phases via {@link #call()}, the task can be driven in two stages: {@link #prepare()}
+ * runs canCommit and preCommit, while {@link #commit(ListenableFuture[], long)} completes the transaction with commit
+ * futures produced by the caller. This allows the commit phase of multiple transactions to be handed to their
+ * backing stores at once.
  */
 final class CommitCoordinationTask implements Callable<CommitInfo> {
     private enum Phase {
@@ -37,22 +44,47 @@ final class CommitCoordinationTask implements Callable<CommitInfo> {
     private static final Logger LOG = LoggerFactory.getLogger(CommitCoordinationTask.class);
     private final Collection<DOMStoreThreePhaseCommitCohort> cohorts;
     private final DurationStatisticsTracker commitStatTracker;
+    private final CommitLatencyStatistics latencyStats;
     private final DOMDataTreeWriteTransaction tx;
+    private final long submitTime;
+
+    private long startTime;
 
     CommitCoordinationTask(final DOMDataTreeWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts,
             final DurationStatisticsTracker commitStatTracker) {
+        this(transaction, cohorts, commitStatTracker, null);
+    }
+
+    CommitCoordinationTask(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts,
+            final DurationStatisticsTracker commitStatTracker, final CommitLatencyStatistics latencyStats) {
         this.tx = requireNonNull(transaction, "transaction must not be null");
         this.cohorts = requireNonNull(cohorts, "cohorts must not be null");
         this.commitStatTracker = commitStatTracker;
+        this.latencyStats = latencyStats;
+        this.submitTime = latencyStats != null ? System.nanoTime() : 0;
     }
 
     @Override
     public CommitInfo call() throws TransactionCommitFailedException {
-        final long startTime = commitStatTracker != null ? System.nanoTime() : 0;
+        prepare();
+        final long phaseStart = phaseStarted();
+        return commit(commitAll(), phaseStart);
+    }
 
-        Phase phase = Phase.CAN_COMMIT;
+    /**
+     * Runs the canCommit and preCommit phases. If either of them fails, the transaction is aborted.
+     *
+     * @throws TransactionCommitFailedException if the transaction failed to prepare
+     */
+    void prepare() throws TransactionCommitFailedException {
+        startTime = commitStatTracker != null || latencyStats != null ? System.nanoTime() : 0;
+        if (latencyStats != null) {
+            latencyStats.recordPhase(CommitPhase.QUEUE, startTime - submitTime);
+        }
 
+        Phase phase = Phase.CAN_COMMIT;
         try {
             LOG.debug("Transaction {}: canCommit Started", tx.getIdentifier());
             canCommitBlocking();
@@ -60,24 +92,75 @@ final class CommitCoordinationTask implements Callable<CommitInfo> {
             phase = Phase.PRE_COMMIT;
             LOG.debug("Transaction {}: preCommit Started", tx.getIdentifier());
             preCommitBlocking();
+        } catch (final TransactionCommitFailedException e) {
+            try {
+                abort(phase, e);
+            } finally {
+                recordCompletion();
+            }
+        }
+    }
 
-            phase = Phase.DO_COMMIT;
+    /**
+     * Completes the commit phase of a transaction which has been successfully prepared, waiting for the supplied
+     * commit futures. If any of them fails, the transaction is aborted.
+     *
+     * @param commitFutures Commit futures, one for each cohort, in the order of the cohorts supplied to this task
+     * @param phaseStart {@link System#nanoTime()} at which the commit phase was started
+     * @return CommitInfo of the committed transaction
+     * @throws TransactionCommitFailedException if the transaction failed to commit
+     */
+    CommitInfo commit(final ListenableFuture<?>[] commitFutures, final long phaseStart)
+            throws TransactionCommitFailedException {
+        try {
             LOG.debug("Transaction {}: doCommit Started", tx.getIdentifier());
-            commitBlocking();
-
+            commitBlocking(commitFutures, phaseStart);
             LOG.debug("Transaction {}: doCommit completed", tx.getIdentifier());
             return CommitInfo.empty();
         } catch (final TransactionCommitFailedException e) {
-            LOG.warn("Tx: {} Error during phase {}, starting Abort", tx.getIdentifier(), phase, e);
-            abortBlocking(e);
+            abort(Phase.DO_COMMIT, e);
             throw e;
         } finally {
+            recordCompletion();
+        }
+    }
+
+    // Aborts the transaction and rethrows the cause, unless the abort itself fails
+    private void abort(final Phase phase, final TransactionCommitFailedException cause)
+            throws TransactionCommitFailedException {
+        LOG.warn("Tx: {} Error during phase {}, starting Abort", tx.getIdentifier(), phase, cause);
+        abortBlocking(cause);
+        throw cause;
+    }
+
+    private void recordCompletion() {
+        if (commitStatTracker != null || latencyStats != null) {
+            final long elapsed = System.nanoTime() - startTime;
             if (commitStatTracker != null) {
-                commitStatTracker.addDuration(System.nanoTime() - startTime);
+                commitStatTracker.addDuration(elapsed);
+            }
+            if (latencyStats != null) {
+                latencyStats.recordCommit(cohorts.size(), elapsed);
             }
         }
     }
 
+    private long phaseStarted() {
+        return latencyStats != null ? System.nanoTime() : 0;
+    }
+
+    private void cohortCompleted(final CommitPhase phase, final int index, final long phaseStart) {
+        if (latencyStats != null) {
+            latencyStats.recordCohort(index, phase, System.nanoTime() - phaseStart);
+        }
+    }
+
+    private void phaseCompleted(final CommitPhase phase, final long phaseStart) {
+        if (latencyStats != null) {
+            latencyStats.recordPhase(phase, System.nanoTime() - phaseStart);
+        }
+    }
+
     /**
      * Invokes canCommit on underlying cohorts and blocks till all results are returned.
      *
@@ -89,16 +172,20 @@ final class CommitCoordinationTask implements Callable<CommitInfo> {
      */
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST_OF_RETURN_VALUE")
     private void canCommitBlocking() throws TransactionCommitFailedException {
-        for (final ListenableFuture<?> canCommit : canCommitAll()) {
+        final long phaseStart = phaseStarted();
+        final ListenableFuture<?>[] canCommitFutures = canCommitAll();
+        for (int i = 0; i < canCommitFutures.length; ++i) {
             try {
-                final Boolean result = (Boolean)canCommit.get();
+                final Boolean result = (Boolean)canCommitFutures[i].get();
                 if (result == null || !result) {
                     throw new TransactionCommitFailedException("Can Commit failed, no detailed cause available.");
                 }
             } catch (InterruptedException | ExecutionException e) {
                 throw TransactionCommitFailedExceptionMapper.CAN_COMMIT_ERROR_MAPPER.apply(e);
             }
+            cohortCompleted(CommitPhase.CAN_COMMIT, i, phaseStart);
         }
+        phaseCompleted(CommitPhase.CAN_COMMIT, phaseStart);
     }
 
     /**
@@ -131,14 +218,17 @@ final class CommitCoordinationTask implements Callable<CommitInfo> {
      */
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST_OF_RETURN_VALUE")
     private void preCommitBlocking() throws TransactionCommitFailedException {
+        final long phaseStart = phaseStarted();
         final ListenableFuture<?>[] preCommitFutures = preCommitAll();
         try {
-            for (final ListenableFuture<?> future : preCommitFutures) {
-                future.get();
+            for (int i = 0; i < preCommitFutures.length; ++i) {
+                preCommitFutures[i].get();
+                cohortCompleted(CommitPhase.PRE_COMMIT, i, phaseStart);
             }
         } catch (InterruptedException | ExecutionException e) {
             throw TransactionCommitFailedExceptionMapper.PRE_COMMIT_MAPPER.apply(e);
         }
+        phaseCompleted(CommitPhase.PRE_COMMIT, phaseStart);
     }
 
     /**
@@ -161,23 +251,25 @@ final class CommitCoordinationTask implements Callable<CommitInfo> {
     }
 
     /**
-     * Invokes commit on underlying cohorts and blocks until all results are returned.
+     * Blocks until all results of the commit phase are returned.
      *
      * <p>
      * Valid state transition is from PRE_COMMIT to COMMIT, if not throws IllegalStateException.
      *
-     * @throws TransactionCommitFailedException If one of cohorts failed preCommit
+     * @throws TransactionCommitFailedException If one of cohorts failed commit
      */
     @SuppressFBWarnings("BC_UNCONFIRMED_CAST_OF_RETURN_VALUE")
-    private void commitBlocking() throws TransactionCommitFailedException {
-        final ListenableFuture<?>[] commitFutures = commitAll();
+    private void commitBlocking(final ListenableFuture<?>[] commitFutures, final long phaseStart)
+            throws TransactionCommitFailedException {
         try {
-            for (final ListenableFuture<?> future : commitFutures) {
-                future.get();
+            for (int i = 0; i < commitFutures.length; ++i) {
+                commitFutures[i].get();
+                cohortCompleted(CommitPhase.DO_COMMIT, i, phaseStart);
             }
         } catch (InterruptedException | ExecutionException e) {
             throw TransactionCommitFailedExceptionMapper.COMMIT_ERROR_MAPPER.apply(e);
         }
+        phaseCompleted(CommitPhase.DO_COMMIT, phaseStart);
     }
 
     /**
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+
+/**
+ * Latency statistics of commits coordinated by an {@link AbstractDOMDataBroker}. Latencies are tracked in
+ * {@link LatencyHistogram}s:
+ * <ul>
+ *   <li>per {@link CommitPhase}, covering all cohorts participating in that phase,</li>
+ *   <li>per {@link CommitPhase} and {@link LogicalDatastoreType}, covering the time until that particular datastore's
+ *       cohort completed the phase,</li>
+ *   <li>per number of cohorts participating in a commit, covering the entire commit.</li>
+ * </ul>
+ */
+public final class CommitLatencyStatistics {
+    /**
+     * Individual stages of a commit.
+     */
+    public enum CommitPhase {
+        /**
+         * Time between the commit being submitted and its processing being started.
+         */
+        QUEUE,
+        /**
+         * The canCommit phase.
+         */
+        CAN_COMMIT,
+        /**
+         * The preCommit phase.
+         */
+        PRE_COMMIT,
+        /**
+         * The commit phase.
+         */
+        DO_COMMIT
+    }
+
+    private final Map<CommitPhase, LatencyHistogram> phases = new EnumMap<>(CommitPhase.class);
+    private final Map<LogicalDatastoreType, Map<CommitPhase, LatencyHistogram>> datastorePhases =
+            new EnumMap<>(LogicalDatastoreType.class);
+    private final ImmutableList<LogicalDatastoreType> datastoreTypes;
+    // Indexed by number of cohorts
+    private final LatencyHistogram[] commits;
+
+    /**
+     * Create a new instance.
+     *
+     * @param datastoreTypes datastore types, in the order in which their cohorts participate in a commit
+     */
+    CommitLatencyStatistics(final Collection<LogicalDatastoreType> datastoreTypes) {
+        this.datastoreTypes = ImmutableList.copyOf(datastoreTypes);
+        for (CommitPhase phase : CommitPhase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        for (LogicalDatastoreType type : this.datastoreTypes) {
+            final Map<CommitPhase, LatencyHistogram> map = new EnumMap<>(CommitPhase.class);
+            for (CommitPhase phase : CommitPhase.values()) {
+                if (phase != CommitPhase.QUEUE) {
+                    map.put(phase, new LatencyHistogram());
+                }
+            }
+            datastorePhases.put(type, map);
+        }
+
+        commits = new LatencyHistogram[this.datastoreTypes.size() + 1];
+        for (int i = 0; i < commits.length; ++i) {
+            commits[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Return the histogram of a particular commit phase.
+     *
+     * @param phase commit phase
+     * @return histogram of specified phase
+     */
+    public @NonNull LatencyHistogram getPhaseHistogram(final CommitPhase phase) {
+        return phases.get(requireNonNull(phase));
+    }
+
+    /**
+     * Return the histogram of a particular datastore's cohort in a particular commit phase.
+     *
+     * @param type datastore type
+     * @param phase commit phase, other than {@link CommitPhase#QUEUE}
+     * @return histogram of specified datastore and phase
+     * @throws IllegalArgumentException if the datastore is not known or if phase is {@link CommitPhase#QUEUE}
+     */
+    public @NonNull LatencyHistogram getPhaseHistogram(final LogicalDatastoreType type, final CommitPhase phase) {
+        final Map<CommitPhase, LatencyHistogram> map = datastorePhases.get(requireNonNull(type));
+        checkArgument(map != null, "Unknown datastore %s", type);
+        final LatencyHistogram ret = map.get(requireNonNull(phase));
+        checkArgument(ret != null, "Phase %s is not tracked per datastore", phase);
+        return ret;
+    }
+
+    /**
+     * Return the histogram of entire commits with a particular number of participating cohorts.
+     *
+     * @param cohortCount number of cohorts
+     * @return histogram of specified cohort count
+     * @throws IllegalArgumentException if the cohort count is out of range
+     */
+    public @NonNull LatencyHistogram getCommitHistogram(final int cohortCount) {
+        checkArgument(cohortCount >= 0 && cohortCount < commits.length, "Cohort count %s is out of range",
+            cohortCount);
+        return commits[cohortCount];
+    }
+
+    /**
+     * Reset all histograms.
+     */
+    public void reset() {
+        phases.values().forEach(LatencyHistogram::reset);
+        datastorePhases.values().forEach(map -> map.values().forEach(LatencyHistogram::reset));
+        for (LatencyHistogram histogram : commits) {
+            histogram.reset();
+        }
+    }
+
+    void recordPhase(final CommitPhase phase, final long nanos) {
+        phases.get(phase).record(nanos);
+    }
+
+    void recordCohort(final int cohortIndex, final CommitPhase phase, final long nanos) {
+        if (cohortIndex < datastoreTypes.size()) {
+            datastorePhases.get(datastoreTypes.get(cohortIndex)).get(phase).record(nanos);
+        }
+    }
+
+    void recordCommit(final int cohortCount, final long nanos) {
+        if (cohortCount < commits.length) {
+            commits[cohortCount].record(nanos);
+        }
+    }
+}
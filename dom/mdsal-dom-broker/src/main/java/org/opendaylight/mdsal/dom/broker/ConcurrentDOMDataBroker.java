@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of non-blocking three phase commit coordinator, which supports coordination on multiple
+ * {@link DOMStoreThreePhaseCommitCohort}. Unlike {@link SerializedDOMDataBroker}, this implementation does not
+ * dedicate a thread to each commit: phases are chained on completion of the cohorts' futures, hence no thread is
+ * blocked while a commit is waiting for its cohorts or for its turn.
+ *
+ *<p>
+ * This implementation does not support cancellation of commit.
+ *
+ *<p>
+ * In order to advance to next phase of three phase commit all subtasks of previous step must be finish.
+ *
+ *<p>
+ * Commits of different transactions are processed one at a time, in the order they were submitted, as backing
+ * {@link DOMStore}s, such as the in-memory data store, cannot cope with the phases of concurrent commits interleaving.
+ * A commit waiting for its predecessors is queued, not parked on a thread.
+ */
+public class ConcurrentDOMDataBroker extends AbstractDOMDataBroker {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentDOMDataBroker.class);
+
+    private final Executor clientFutureCallbackExecutor;
+
+    // Commits waiting for the commit in progress to complete
+    @GuardedBy("this")
+    private final Queue<AsyncCommitCoordinationTask> pending = new ArrayDeque<>();
+    @GuardedBy("this")
+    private boolean commitInProgress;
+
+    /**
+     * Construct a ConcurrentDOMDataBroker which completes the futures returned to users in whichever thread
+     * completes the last cohort invocation.
+     *
+     * @param datastores the Map of backing DOMStore instances
+     */
+    public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores) {
+        this(datastores, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Construct a ConcurrentDOMDataBroker which uses supplied executor to complete the futures returned to users, so
+     * that their callbacks do not run in the threads owned by the backing DOMStores.
+     *
+     * @param datastores the Map of backing DOMStore instances
+     * @param clientFutureCallbackExecutor the Executor used to complete futures returned to users
+     */
+    public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
+            final Executor clientFutureCallbackExecutor) {
+        super(datastores);
+        this.clientFutureCallbackExecutor = requireNonNull(clientFutureCallbackExecutor,
+            "clientFutureCallbackExecutor must not be null.");
+    }
+
+    @Override
+    protected FluentFuture<? extends CommitInfo> commit(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        checkCommitArguments(transaction, cohorts);
+        LOG.debug("Tx: {} is submitted for execution.", transaction.getIdentifier());
+
+        final AsyncCommitCoordinationTask task = new AsyncCommitCoordinationTask(transaction, cohorts,
+            getCommitStatsTracker(), getCommitLatencyStatistics());
+        final FluentFuture<CommitInfo> ret = task.future();
+        final boolean startNow;
+        synchronized (this) {
+            startNow = !commitInProgress;
+            if (startNow) {
+                commitInProgress = true;
+            } else {
+                pending.add(task);
+            }
+        }
+        if (startNow) {
+            runCommits(task);
+        }
+
+        if (clientFutureCallbackExecutor == MoreExecutors.directExecutor()) {
+            return ret;
+        }
+
+        // Hand off completion to the executor, so that both success and failure callbacks are executed there
+        final SettableFuture<CommitInfo> clientFuture = SettableFuture.create();
+        ret.addListener(() -> clientFuture.setFuture(ret), clientFutureCallbackExecutor);
+        return FluentFuture.from(clientFuture);
+    }
+
+    private void runCommits(final AsyncCommitCoordinationTask first) {
+        // Commits completing synchronously are processed in a loop, so that a long queue does not result in deep
+        // recursion through future callbacks
+        AsyncCommitCoordinationTask task = first;
+        while (task != null) {
+            final FluentFuture<CommitInfo> future = task.start();
+            if (!future.isDone()) {
+                future.addListener(() -> {
+                    final AsyncCommitCoordinationTask next = nextCommit();
+                    if (next != null) {
+                        runCommits(next);
+                    }
+                }, MoreExecutors.directExecutor());
+                return;
+            }
+            task = nextCommit();
+        }
+    }
+
+    private synchronized AsyncCommitCoordinationTask nextCommit() {
+        final AsyncCommitCoordinationTask next = pending.poll();
+        if (next == null) {
+            commitInProgress = false;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * A class of notification types which {@link DOMNotificationRouter} dispatches through a dedicated queue, with its
+ * own depth and wait strategy. Notifications of a type matching a class are not queued behind notifications of any
+ * other class, so that a burst of low-importance notifications cannot delay delivery of important ones.
+ *
+ * <p>
+ * A notification type matches a class if either its {@link SchemaPath} or the {@link QName} of the notification,
+ * i.e. the last component of its SchemaPath, has been added to the class.
+ */
+public final class DOMNotificationPriorityClass {
+    private final @NonNull String name;
+    private final @NonNull ImmutableSet<SchemaPath> types;
+    private final @NonNull ImmutableSet<QName> names;
+    private final @NonNull WaitStrategy strategy;
+    private final int queueDepth;
+
+    DOMNotificationPriorityClass(final Builder builder) {
+        name = builder.name;
+        types = builder.types.build();
+        names = builder.names.build();
+        strategy = builder.strategy;
+        queueDepth = builder.queueDepth;
+    }
+
+    public static @NonNull Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    public @NonNull String getName() {
+        return name;
+    }
+
+    public @NonNull ImmutableSet<SchemaPath> getTypes() {
+        return types;
+    }
+
+    public @NonNull ImmutableSet<QName> getNames() {
+        return names;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    @NonNull WaitStrategy strategy() {
+        return strategy;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("name", name).add("types", types).add("names", names)
+                .add("queueDepth", queueDepth).toString();
+    }
+
+    /**
+     * Builder of {@link DOMNotificationPriorityClass}es.
+     */
+    public static final class Builder {
+        private final ImmutableSet.Builder<SchemaPath> types = ImmutableSet.builder();
+        private final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+        private final @NonNull String name;
+
+        private WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(1L, 30L, TimeUnit.MILLISECONDS);
+        private int queueDepth = 1024;
+
+        Builder(final String name) {
+            this.name = requireNonNull(name);
+        }
+
+        /**
+         * Add a notification type to this class.
+         *
+         * @param type notification type
+         * @return This builder
+         */
+        public @NonNull Builder addType(final @NonNull SchemaPath type) {
+            types.add(type);
+            return this;
+        }
+
+        /**
+         * Add a notification QName to this class. All notification types ending with the QName match this class.
+         *
+         * @param qname notification QName
+         * @return This builder
+         */
+        public @NonNull Builder addName(final @NonNull QName qname) {
+            names.add(qname);
+            return this;
+        }
+
+        /**
+         * Set the depth of this class' queue. It has to be a power of two.
+         *
+         * @param queueDepth queue depth
+         * @return This builder
+         * @throws IllegalArgumentException if queueDepth is not a positive power of two
+         */
+        @SuppressWarnings("checkstyle:hiddenField")
+        public @NonNull Builder setQueueDepth(final int queueDepth) {
+            checkArgument(queueDepth > 0 && Integer.bitCount(queueDepth) == 1, "Queue depth %s is not power-of-two",
+                queueDepth);
+            this.queueDepth = queueDepth;
+            return this;
+        }
+
+        /**
+         * Set the wait strategy of this class' queue.
+         *
+         * @param spinTime time spent spinning before yielding
+         * @param parkTime time spent yielding before waiting on a lock
+         * @param unit time unit of spinTime and parkTime
+         * @return This builder
+         */
+        public @NonNull Builder setWaitStrategy(final long spinTime, final long parkTime,
+                final @NonNull TimeUnit unit) {
+            strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
+            return this;
+        }
+
+        public @NonNull DOMNotificationPriorityClass build() {
+            return new DOMNotificationPriorityClass(this);
+        }
+    }
+}
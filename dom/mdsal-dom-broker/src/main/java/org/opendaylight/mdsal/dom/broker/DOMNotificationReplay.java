@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.dom.api.DOMEvent;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Selection of notifications retained by {@link DOMNotificationRouter#enableReplay(SchemaPath, int)}, which should be
+ * replayed to a newly-registered listener before it starts receiving live notifications.
+ */
+public final class DOMNotificationReplay {
+    private final @Nullable Instant since;
+    private final int count;
+
+    private DOMNotificationReplay(final int count, final @Nullable Instant since) {
+        this.count = count;
+        this.since = since;
+    }
+
+    /**
+     * Replay at most the specified number of most recent notifications.
+     *
+     * @param count maximum number of notifications
+     * @return A replay selection
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public static @NonNull DOMNotificationReplay last(final int count) {
+        checkArgument(count > 0, "Invalid replay count %s", count);
+        return new DOMNotificationReplay(count, null);
+    }
+
+    /**
+     * Replay all retained notifications which occurred at or after the specified instant. Notifications implementing
+     * {@link DOMEvent} are matched by their {@link DOMEvent#getEventInstant()}, all others by the time they were
+     * published.
+     *
+     * @param instant earliest instant
+     * @return A replay selection
+     * @throws NullPointerException if instant is null
+     */
+    public static @NonNull DOMNotificationReplay since(final Instant instant) {
+        return new DOMNotificationReplay(Integer.MAX_VALUE, requireNonNull(instant));
+    }
+
+    int count() {
+        return count;
+    }
+
+    @Nullable Instant since() {
+        return since;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues().add("count", since == null ? count : null)
+                .add("since", since).toString();
+    }
+}
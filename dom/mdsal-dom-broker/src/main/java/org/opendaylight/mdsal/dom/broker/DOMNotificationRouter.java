@@ -8,34 +8,46 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.ImmutableMultimap.Builder;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.PhasedBackoffWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
-import com.lmax.disruptor.dsl.ProducerType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
 import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.mdsal.dom.api.DOMNotificationService;
+import org.opendaylight.mdsal.dom.broker.DOMNotificationRouterEvent.DeliveryFuture;
+import org.opendaylight.mdsal.dom.broker.DOMNotificationRouterLanes.ReplayLane;
 import org.opendaylight.mdsal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.mdsal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -53,16 +65,15 @@ import org.slf4j.LoggerFactory;
  *<p>
  * Internal implementation works by allocating a two-handler Disruptor. The first handler delivers notifications
  * to subscribed listeners and the second one notifies whoever may be listening on the returned future. Registration
- * state tracking is performed by a simple immutable multimap -- when a registration or unregistration occurs we
- * re-generate the entire map from scratch and set it atomically. While registrations/unregistrations synchronize
- * on this instance, notifications do not take any locks here.
+ * state tracking is performed by a concurrent map of immutable lists -- when a registration or unregistration occurs
+ * we re-generate the lists of affected notification types and set them atomically. Notifications do not take any
+ * locks here.
  *
  *<p>
- * The fully-blocking {@link #publish(long, DOMNotification, Collection)}
- * and non-blocking {@link #offerNotification(DOMNotification)}
- * are realized using the Disruptor's native operations. The bounded-blocking {@link
- * #offerNotification(DOMNotification, long, TimeUnit)}
- * is realized by arming a background wakeup interrupt.
+ * The fully-blocking {@link #putNotification(DOMNotification)} and non-blocking
+ * {@link #offerNotification(DOMNotification)} are realized using the Disruptor's native operations. The
+ * bounded-blocking {@link #offerNotification(DOMNotification, long, TimeUnit)} retries the non-blocking claim with
+ * increasing backoff, until it succeeds or the timeout expires.
  */
 public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
@@ -71,38 +82,89 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
     private static final ListenableFuture<Void> NO_LISTENERS = FluentFutures.immediateNullFluentFuture();
     private static final WaitStrategy DEFAULT_STRATEGY = PhasedBackoffWaitStrategy.withLock(
             1L, 30L, TimeUnit.MILLISECONDS);
-    private static final EventHandler<DOMNotificationRouterEvent> DISPATCH_NOTIFICATIONS =
-        (event, sequence, endOfBatch) -> event.deliverNotification();
-    private static final EventHandler<DOMNotificationRouterEvent> NOTIFY_FUTURE =
-        (event, sequence, endOfBatch) -> event.setFuture();
+
+    // Backoff parameters of the timed offer: spin first, then yield, then park for exponentially-increasing durations
+    private static final int OFFER_SPIN_TRIES = 100;
+    private static final int OFFER_YIELD_TRIES = 100;
+    private static final long OFFER_MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long OFFER_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
 
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners =
             ListenerRegistry.create();
-    private final Disruptor<DOMNotificationRouterEvent> disruptor;
-    private final ScheduledThreadPoolExecutor observer;
+    private final DOMNotificationRouterDispatcher dispatcher;
+    private final DOMNotificationRouterLanes lanes;
+    private final DOMNotificationRouterStatistics statistics;
     private final ExecutorService executor;
 
-    private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners =
-            ImmutableMultimap.of();
+    private final ConcurrentMap<SchemaPath, ImmutableList<ListenerRegistration<? extends DOMNotificationListener>>>
+        listeners = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SchemaPath, NotificationReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
 
     @VisibleForTesting
     DOMNotificationRouter(final int queueDepth, final WaitStrategy strategy) {
-        observer = new ScheduledThreadPoolExecutor(1,
-            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("DOMNotificationRouter-observer-%d").build());
+        this(queueDepth, strategy, 0);
+    }
+
+    @VisibleForTesting
+    DOMNotificationRouter(final int queueDepth, final WaitStrategy strategy, final int laneThreads) {
+        this(queueDepth, strategy, laneThreads, ImmutableList.of());
+    }
+
+    @VisibleForTesting
+    DOMNotificationRouter(final int queueDepth, final WaitStrategy strategy, final int laneThreads,
+            final Collection<DOMNotificationPriorityClass> priorityClasses) {
+        checkArgument(laneThreads >= 0, "Lane thread count %s is negative", laneThreads);
+        dispatcher = new DOMNotificationRouterDispatcher(queueDepth, strategy, priorityClasses);
         executor = Executors.newCachedThreadPool(
             new ThreadFactoryBuilder().setDaemon(true).setNameFormat("DOMNotificationRouter-listeners-%d").build());
-        disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth,
-                new ThreadFactoryBuilder().setNameFormat("DOMNotificationRouter-disruptor-%d").build(),
-                ProducerType.MULTI, strategy);
-        disruptor.handleEventsWith(DISPATCH_NOTIFICATIONS);
-        disruptor.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
-        disruptor.start();
+        lanes = new DOMNotificationRouterLanes(laneThreads, queueDepth, executor);
+        statistics = new DOMNotificationRouterStatistics(dispatcher.queues(), listeners);
     }
 
     public static DOMNotificationRouter create(final int queueDepth) {
         return new DOMNotificationRouter(queueDepth, DEFAULT_STRATEGY);
     }
 
+    /**
+     * Create a router which delivers notifications to each listener on its own lane. Lanes run on a shared thread
+     * pool. Each lane delivers notifications to its listener in order, but lanes are independent of each other, hence
+     * a slow listener delays only itself. Returned futures complete once all lanes have delivered the notification.
+     *
+     * <p>
+     * The number of notifications queued on a registration's lanes is bounded by the queue depth. Once a slow listener
+     * reaches that bound, blocking publishers wait for it to catch up and offers are rejected, just as they would be
+     * if the queue itself was full.
+     *
+     * @param queueDepth depth of the notification queue
+     * @param laneThreads number of threads shared by listener lanes, 0 for sequential delivery
+     * @return A new router
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final int laneThreads) {
+        return new DOMNotificationRouter(queueDepth, DEFAULT_STRATEGY, laneThreads);
+    }
+
+    /**
+     * Create a router which dispatches notifications belonging to each priority class through a dedicated queue.
+     * Notifications which do not belong to any class are dispatched through the default queue.
+     *
+     * <p>
+     * Notifications of different classes do not queue behind each other and are delivered concurrently, while
+     * notifications within a class retain their publication order. A listener is still never invoked concurrently
+     * with itself: a listener subscribed to notifications of more than one class is invoked on its own lane, even if
+     * the router does not use lanes otherwise. Such a listener may observe notifications of different classes in
+     * a different order than they were published.
+     *
+     * @param queueDepth depth of the default notification queue
+     * @param laneThreads number of threads shared by listener lanes, 0 for sequential delivery
+     * @param priorityClasses priority classes
+     * @return A new router
+     * @throws IllegalArgumentException if a notification type is assigned to more than one priority class
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final int laneThreads,
+            final Collection<DOMNotificationPriorityClass> priorityClasses) {
+        return new DOMNotificationRouter(queueDepth, DEFAULT_STRATEGY, laneThreads, priorityClasses);
+    }
+
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
             final TimeUnit unit) {
         checkArgument(Long.lowestOneBit(queueDepth) == Long.highestOneBit(queueDepth),
@@ -111,33 +173,137 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
     }
 
     @Override
-    public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
             final T listener, final Collection<SchemaPath> types) {
-        final ListenerRegistration<T> reg = new AbstractListenerRegistration<>(listener) {
-            @Override
-            protected void removeRegistration() {
-                synchronized (DOMNotificationRouter.this) {
-                    replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners,
-                        input -> input != this)));
-                }
-            }
-        };
+        return register(newRegistration(listener, ImmutableSet.copyOf(types)));
+    }
 
-        if (!types.isEmpty()) {
-            final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b =
-                    ImmutableMultimap.builder();
-            b.putAll(listeners);
+    private <T extends DOMNotificationListener> Registration<T> newRegistration(final T listener,
+            final ImmutableSet<SchemaPath> types) {
+        // Each priority class is dispatched by its own thread, make sure we do not invoke the listener concurrently
+        return lanes.newRegistration(this, listener, types, dispatcher.spansPriorityClasses(types));
+    }
+
+    /**
+     * Register a listener, which requires notifications to be delivered in order only with respect to other
+     * notifications with the same key. Notifications with different keys may be delivered to the listener
+     * concurrently. If this router does not use listener lanes, all notifications are delivered sequentially.
+     *
+     * @param listener Notification listener
+     * @param keyExtractor Function extracting the key from a notification, for example a leaf from its body. It is
+     *                     invoked on the dispatch thread, hence it should be fast. Null keys are allowed.
+     * @param types Notification types which should be delivered to the listener
+     * @return Registration handle
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerKeyedNotificationListener(
+            final T listener, final Function<? super DOMNotification, ?> keyExtractor,
+            final Collection<SchemaPath> types) {
+        requireNonNull(keyExtractor);
+        final ImmutableSet<SchemaPath> uniqueTypes = ImmutableSet.copyOf(types);
+        return register(lanes.newKeyedRegistration(this, listener, uniqueTypes, keyExtractor,
+            dispatcher.spansPriorityClasses(uniqueTypes)));
+    }
 
-            for (final SchemaPath t : types) {
-                b.put(t, reg);
+    /**
+     * Register a listener, which first receives a replay of notifications retained for the requested types, as
+     * enabled by {@link #enableReplay(SchemaPath, int)}. Replayed notifications are delivered in the order in which
+     * they were published, before any live notifications, on a lane dedicated to the listener. Each notification is
+     * delivered either as part of the replay or live, but not both. Types for which replay is not enabled are
+     * subscribed to without replay. Publishers do not wait for replays.
+     *
+     * @param listener Notification listener
+     * @param types Notification types which should be delivered to the listener
+     * @param replay Selection of notifications to replay
+     * @return Registration handle
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
+            final T listener, final Collection<SchemaPath> types, final DOMNotificationReplay replay) {
+        requireNonNull(replay);
+        final ImmutableSet<SchemaPath> uniqueTypes = ImmutableSet.copyOf(types);
+        final ReplayLane lane = lanes.newReplayLane();
+        final Registration<T> reg = lanes.newReplayRegistration(this, listener, uniqueTypes, lane);
+
+        final List<NotificationReplayBuffer.Entry> selected = new ArrayList<>();
+        boolean typesChanged = false;
+        for (SchemaPath type : uniqueTypes) {
+            final NotificationReplayBuffer buffer = replayBuffers.get(type);
+            if (buffer != null) {
+                // Publishers hold the monitor while resolving subscribers, hence each notification is either
+                // selected here or delivered to the registration live
+                synchronized (buffer) {
+                    buffer.select(replay, selected);
+                    typesChanged |= addListener(type, reg);
+                }
+            } else {
+                typesChanged |= addListener(type, reg);
             }
+        }
 
-            replaceListeners(b.build());
+        lane.start(NotificationReplayBuffer.merge(selected, replay), reg);
+        if (typesChanged) {
+            notifyListenerTypesChanged();
         }
+        return reg;
+    }
 
+    /**
+     * Enable retaining notifications of a particular type for replay to listeners registered later. Notifications
+     * are retained regardless of whether they had any subscribers.
+     *
+     * @param type Notification type
+     * @param maxCount Maximum number of retained notifications
+     * @throws IllegalArgumentException if maxCount is not positive
+     * @throws IllegalStateException if replay has already been enabled for the type
+     */
+    public void enableReplay(final SchemaPath type, final int maxCount) {
+        enableReplay(type, maxCount, Long.MAX_VALUE, notification -> 0);
+    }
+
+    /**
+     * Enable retaining notifications of a particular type for replay to listeners registered later. Retained
+     * notifications are limited both by their number and by their total weight, for example their estimated size in
+     * bytes. The most recent notification is retained even if it exceeds the maximum weight on its own.
+     *
+     * @param type Notification type
+     * @param maxCount Maximum number of retained notifications
+     * @param maxWeight Maximum total weight of retained notifications
+     * @param weigher Function determining the weight of a notification. It is invoked by publishers, hence it should
+     *                be fast.
+     * @throws IllegalArgumentException if maxCount or maxWeight is not positive
+     * @throws IllegalStateException if replay has already been enabled for the type
+     */
+    public void enableReplay(final SchemaPath type, final int maxCount, final long maxWeight,
+            final ToLongFunction<? super DOMNotification> weigher) {
+        checkArgument(maxCount > 0, "Invalid replay count %s", maxCount);
+        checkArgument(maxWeight > 0, "Invalid replay weight %s", maxWeight);
+        final NotificationReplayBuffer buffer = new NotificationReplayBuffer(maxCount, maxWeight, weigher);
+        checkState(replayBuffers.putIfAbsent(requireNonNull(type), buffer) == null, "Replay of %s is already enabled",
+            type);
+    }
+
+    private <T extends DOMNotificationListener> ListenerRegistration<T> register(final Registration<T> reg) {
+        boolean typesChanged = false;
+        for (SchemaPath type : reg.types()) {
+            typesChanged |= addListener(type, reg);
+        }
+        if (typesChanged) {
+            notifyListenerTypesChanged();
+        }
         return reg;
     }
 
+    private void unregister(final Registration<?> reg) {
+        boolean typesChanged = false;
+        for (SchemaPath type : reg.types()) {
+            typesChanged |= removeListener(type, reg);
+        }
+        if (typesChanged) {
+            notifyListenerTypesChanged();
+        }
+    }
+
     @Override
     public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
             final T listener, final SchemaPath... types) {
@@ -145,14 +311,84 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
     }
 
     /**
-     * Swaps registered listeners and triggers notification update.
+     * Add a listener registration to a notification type.
      *
-     * @param newListeners is used to notify listenerTypes changed
+     * @return True if this is the first registration for the type
      */
-    private void replaceListeners(
-            final Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> newListeners) {
-        listeners = newListeners;
-        notifyListenerTypesChanged(newListeners.keySet());
+    private boolean addListener(final SchemaPath type,
+            final ListenerRegistration<? extends DOMNotificationListener> reg) {
+        final List<?> regs = listeners.compute(type, (key, prev) -> {
+            if (prev == null) {
+                return ImmutableList.of(reg);
+            }
+            return ImmutableList.<ListenerRegistration<? extends DOMNotificationListener>>builderWithExpectedSize(
+                prev.size() + 1).addAll(prev).add(reg).build();
+        });
+        // The lists are replaced atomically, hence a singleton list can only result from us creating it
+        return regs.size() == 1;
+    }
+
+    /**
+     * Remove a listener registration from a notification type.
+     *
+     * @return True if this was the last registration for the type
+     */
+    private boolean removeListener(final SchemaPath type,
+            final ListenerRegistration<? extends DOMNotificationListener> reg) {
+        while (true) {
+            final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> prev = listeners.get(type);
+            if (prev == null) {
+                return false;
+            }
+
+            final ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> next = prev.stream()
+                .filter(input -> input != reg)
+                .collect(ImmutableList.toImmutableList());
+            if (next.size() == prev.size()) {
+                // Not registered for this type
+                return false;
+            }
+            if (next.isEmpty()) {
+                if (listeners.remove(type, prev)) {
+                    return true;
+                }
+            } else if (listeners.replace(type, prev, next)) {
+                return false;
+            }
+        }
+    }
+
+    private ImmutableList<ListenerRegistration<? extends DOMNotificationListener>> subscribers(
+            final DOMNotification notification) {
+        final SchemaPath type = notification.getType();
+        final NotificationReplayBuffer buffer = replayBuffers.get(type);
+        if (buffer == null) {
+            return listeners.getOrDefault(type, ImmutableList.of());
+        }
+
+        // Record and resolve subscribers atomically with respect to replaying registrations
+        synchronized (buffer) {
+            buffer.record(notification);
+            return listeners.getOrDefault(type, ImmutableList.of());
+        }
+    }
+
+    private void rejected(final DOMNotification notification) {
+        final SchemaPath type = notification.getType();
+        statistics.rejected(type);
+        // Do not replay notifications which have not been delivered
+        final NotificationReplayBuffer buffer = replayBuffers.get(type);
+        if (buffer != null) {
+            buffer.discard(notification);
+        }
+    }
+
+    /**
+     * Triggers notification of subscription listeners with the current set of notification types.
+     */
+    private synchronized void notifyListenerTypesChanged() {
+        // Synchronized so that snapshots are handed over to the executor in order
+        notifyListenerTypesChanged(ImmutableSet.copyOf(listeners.keySet()));
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -173,16 +409,18 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
     @Override
     public <L extends DOMNotificationSubscriptionListener> ListenerRegistration<L> registerSubscriptionListener(
             final L listener) {
-        final Set<SchemaPath> initialTypes = listeners.keySet();
+        final Set<SchemaPath> initialTypes = ImmutableSet.copyOf(listeners.keySet());
         executor.execute(() -> listener.onSubscriptionChanged(initialTypes));
         return subscriptionListeners.register(listener);
     }
 
-    private ListenableFuture<Void> publish(final long seq, final DOMNotification notification,
+    private ListenableFuture<Void> publish(final Disruptor<DOMNotificationRouterEvent> target, final long seq,
+            final DOMNotification notification,
             final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
-        final DOMNotificationRouterEvent event = disruptor.get(seq);
+        final DOMNotificationRouterEvent event = target.get(seq);
         final ListenableFuture<Void> future = event.initialize(notification, subscribers);
-        disruptor.getRingBuffer().publish(seq);
+        target.getRingBuffer().publish(seq);
+        statistics.published(notification.getType());
         return future;
     }
 
@@ -190,92 +428,274 @@ public class DOMNotificationRouter implements AutoCloseable, DOMNotificationPubl
     public ListenableFuture<? extends Object> putNotification(final DOMNotification notification)
             throws InterruptedException {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
-                listeners.get(notification.getType());
+                subscribers(notification);
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
 
-        final long seq = disruptor.getRingBuffer().next();
-        return publish(seq, notification, subscribers);
+        final Disruptor<DOMNotificationRouterEvent> target = dispatcher.disruptorFor(notification);
+        DOMNotificationRouterLanes.acquire(subscribers);
+        final long seq = target.getRingBuffer().next();
+        return publish(target, seq, notification, subscribers);
+    }
+
+    @Override
+    public void publishNotification(final DOMNotification notification) throws InterruptedException {
+        final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
+                subscribers(notification);
+        if (!subscribers.isEmpty()) {
+            final Disruptor<DOMNotificationRouterEvent> target = dispatcher.disruptorFor(notification);
+            DOMNotificationRouterLanes.acquire(subscribers);
+            final long seq = target.getRingBuffer().next();
+            target.get(seq).initializeUntracked(notification, subscribers);
+            target.getRingBuffer().publish(seq);
+            statistics.published(notification.getType());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Notifications are grouped by their queue. Each group claims a contiguous range of sequences at once and is
+     * published with a single barrier update.
+     */
+    @Override
+    public ListenableFuture<? extends Object> putNotifications(
+            final Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        // Resolve subscribers before claiming any sequences, so a bad notification cannot leave claimed sequences
+        // unpublished. Notifications are grouped by their target Disruptor, retaining their relative order.
+        final Map<Disruptor<DOMNotificationRouterEvent>, List<DOMNotification>> toPublish = new LinkedHashMap<>();
+        final Map<Disruptor<DOMNotificationRouterEvent>,
+            List<Collection<ListenerRegistration<? extends DOMNotificationListener>>>> toSubscribers = new HashMap<>();
+        for (DOMNotification notification : notifications) {
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
+                    subscribers(notification);
+            if (!subscribers.isEmpty()) {
+                final Disruptor<DOMNotificationRouterEvent> target = dispatcher.disruptorFor(notification);
+                toPublish.computeIfAbsent(target, key -> new ArrayList<>()).add(notification);
+                toSubscribers.computeIfAbsent(target, key -> new ArrayList<>()).add(subscribers);
+            }
+        }
+
+        if (toPublish.isEmpty()) {
+            return NO_LISTENERS;
+        }
+
+        // All notifications in the batch share a single future, completed by whichever delivery finishes last
+        int count = 0;
+        for (List<DOMNotification> batch : toPublish.values()) {
+            count += batch.size();
+        }
+        final DeliveryFuture future = new DeliveryFuture(count);
+        for (Map.Entry<Disruptor<DOMNotificationRouterEvent>, List<DOMNotification>> entry : toPublish.entrySet()) {
+            final Disruptor<DOMNotificationRouterEvent> target = entry.getKey();
+            publishBatch(target, entry.getValue(), toSubscribers.get(target), future);
+        }
+        return future;
+    }
+
+    private void publishBatch(final Disruptor<DOMNotificationRouterEvent> target,
+            final List<DOMNotification> notifications,
+            final List<Collection<ListenerRegistration<? extends DOMNotificationListener>>> subscribers,
+            final DeliveryFuture future) {
+        // We cannot claim more than the ring buffer holds, nor more than a lane can take, hence large batches are
+        // split into chunks
+        final RingBuffer<DOMNotificationRouterEvent> ringBuffer = target.getRingBuffer();
+        final int chunkSize = Math.min(ringBuffer.getBufferSize(), lanes.capacity());
+        final int size = notifications.size();
+        for (int offset = 0; offset < size; offset += chunkSize) {
+            final int count = Math.min(chunkSize, size - offset);
+            for (int i = 0; i < count; ++i) {
+                DOMNotificationRouterLanes.acquire(subscribers.get(offset + i));
+            }
+            final long hi = ringBuffer.next(count);
+            final long lo = hi - count + 1;
+            for (int i = 0; i < count; ++i) {
+                target.get(lo + i).initialize(notifications.get(offset + i), subscribers.get(offset + i), future);
+            }
+            ringBuffer.publish(lo, hi);
+        }
+        notifications.forEach(notification -> statistics.published(notification.getType()));
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
     @VisibleForTesting
     ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
             final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final Disruptor<DOMNotificationRouterEvent> target = dispatcher.disruptorFor(notification);
+        if (!DOMNotificationRouterLanes.tryAcquire(subscribers)) {
+            return DOMNotificationPublishService.REJECTED;
+        }
+
         final long seq;
         try {
-            seq = disruptor.getRingBuffer().tryNext();
+            seq = target.getRingBuffer().tryNext();
         } catch (final InsufficientCapacityException e) {
+            DOMNotificationRouterLanes.release(subscribers, subscribers.size());
             return DOMNotificationPublishService.REJECTED;
         }
 
-        return publish(seq, notification, subscribers);
+        return publish(target, seq, notification, subscribers);
     }
 
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification) {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
-                listeners.get(notification.getType());
+                subscribers(notification);
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
 
-        return tryPublish(notification, subscribers);
+        final ListenableFuture<? extends Object> ret = tryPublish(notification, subscribers);
+        if (DOMNotificationPublishService.REJECTED.equals(ret)) {
+            rejected(notification);
+        }
+        return ret;
     }
 
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification, final long timeout,
             final TimeUnit unit) throws InterruptedException {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers =
-                listeners.get(notification.getType());
+                subscribers(notification);
         if (subscribers.isEmpty()) {
             return NO_LISTENERS;
         }
         // Attempt to perform a non-blocking publish first
-        final ListenableFuture<?> noBlock = tryPublish(notification, subscribers);
-        if (!DOMNotificationPublishService.REJECTED.equals(noBlock)) {
-            return noBlock;
+        ListenableFuture<? extends Object> ret = tryPublish(notification, subscribers);
+        if (!DOMNotificationPublishService.REJECTED.equals(ret)) {
+            return ret;
         }
 
-        try {
-            final Thread publishThread = Thread.currentThread();
-            ScheduledFuture<?> timerTask = observer.schedule(publishThread::interrupt, timeout, unit);
-            final ListenableFuture<?> withBlock = putNotification(notification);
-            timerTask.cancel(true);
-            if (observer.getQueue().size() > 50) {
-                observer.purge();
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long parkNanos = OFFER_MIN_PARK_NANOS;
+        for (int attempt = 0; ; ++attempt) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                rejected(notification);
+                return DOMNotificationPublishService.REJECTED;
+            }
+
+            if (attempt < OFFER_SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < OFFER_SPIN_TRIES + OFFER_YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(parkNanos, remaining));
+                parkNanos = Math.min(parkNanos * 2, OFFER_MAX_PARK_NANOS);
+            }
+
+            ret = tryPublish(notification, subscribers);
+            if (!DOMNotificationPublishService.REJECTED.equals(ret)) {
+                return ret;
             }
-            return withBlock;
-        } catch (InterruptedException e) {
-            return DOMNotificationPublishService.REJECTED;
         }
     }
 
     @Override
     public void close() {
-        disruptor.shutdown();
-        observer.shutdown();
+        dispatcher.shutdown();
         executor.shutdown();
+        lanes.shutdown();
     }
 
-    @VisibleForTesting
-    ExecutorService executor() {
-        return executor;
+    /**
+     * Return statistics of this router. These cover queue occupancy, per-type publish and reject counts and
+     * per-listener delivery latencies.
+     *
+     * @return Router statistics
+     */
+    public DOMNotificationRouterStatistics getStatistics() {
+        return statistics;
     }
 
     @VisibleForTesting
-    ExecutorService observer() {
-        return observer;
+    ExecutorService executor() {
+        return executor;
     }
 
     @VisibleForTesting
     Multimap<SchemaPath, ?> listeners() {
-        return listeners;
+        final ImmutableListMultimap.Builder<SchemaPath, Object> builder = ImmutableListMultimap.builder();
+        listeners.forEach(builder::putAll);
+        return builder.build();
     }
 
     @VisibleForTesting
     ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners() {
         return subscriptionListeners;
     }
+
+    /**
+     * A registration of a {@link DOMNotificationListener}. Its listener is invoked on the dispatch thread. It also
+     * tracks the time the listener takes to process notifications.
+     */
+    static class Registration<T extends DOMNotificationListener> extends AbstractListenerRegistration<T> {
+        private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+        private final DOMNotificationRouter router;
+        private final ImmutableSet<SchemaPath> types;
+        // Bounds notifications handed over to lanes, null if the listener is invoked on the dispatch thread
+        private final @Nullable Semaphore lanePermits;
+
+        Registration(final DOMNotificationRouter router, final T listener, final ImmutableSet<SchemaPath> types) {
+            this(router, listener, types, null);
+        }
+
+        Registration(final DOMNotificationRouter router, final T listener, final ImmutableSet<SchemaPath> types,
+                final int laneCapacity) {
+            this(router, listener, types, new Semaphore(laneCapacity));
+        }
+
+        private Registration(final DOMNotificationRouter router, final T listener,
+                final ImmutableSet<SchemaPath> types, final @Nullable Semaphore lanePermits) {
+            super(listener);
+            this.router = requireNonNull(router);
+            this.types = requireNonNull(types);
+            this.lanePermits = lanePermits;
+        }
+
+        @Override
+        protected final void removeRegistration() {
+            router.unregister(this);
+        }
+
+        final ImmutableSet<SchemaPath> types() {
+            return types;
+        }
+
+        /**
+         * Return the lane on which a notification should be delivered.
+         *
+         * @param notification notification to be delivered
+         * @return Lane executor, or null if the listener should be invoked on the dispatch thread
+         */
+        @Nullable Executor lane(final DOMNotification notification) {
+            return null;
+        }
+
+        // Acquired by publishers before a notification is queued, released once it has been delivered on a lane
+        final void acquireLane() {
+            if (lanePermits != null) {
+                lanePermits.acquireUninterruptibly();
+            }
+        }
+
+        final boolean tryAcquireLane() {
+            return lanePermits == null || lanePermits.tryAcquire();
+        }
+
+        final void releaseLane() {
+            if (lanePermits != null) {
+                lanePermits.release();
+            }
+        }
+
+        final LatencyHistogram deliveryLatency() {
+            return deliveryLatency;
+        }
+    }
 }
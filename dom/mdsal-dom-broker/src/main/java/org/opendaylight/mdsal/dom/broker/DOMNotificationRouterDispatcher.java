@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * The set of Disruptors used by a {@link DOMNotificationRouter}: the default one and one for each
+ * {@link DOMNotificationPriorityClass}. Each Disruptor runs two handlers, the first one delivers notifications to
+ * subscribed listeners and the second one notifies whoever may be listening on the returned future.
+ */
+final class DOMNotificationRouterDispatcher {
+    private static final EventHandler<DOMNotificationRouterEvent> DISPATCH_NOTIFICATIONS =
+        (event, sequence, endOfBatch) -> event.deliverNotification();
+    private static final EventHandler<DOMNotificationRouterEvent> NOTIFY_FUTURE =
+        (event, sequence, endOfBatch) -> event.setFuture();
+
+    private final Disruptor<DOMNotificationRouterEvent> disruptor;
+    // Disruptors of priority classes, indexed by notification type and by notification QName
+    private final ImmutableMap<SchemaPath, Disruptor<DOMNotificationRouterEvent>> typeDisruptors;
+    private final ImmutableMap<QName, Disruptor<DOMNotificationRouterEvent>> nameDisruptors;
+    private final ImmutableList<Disruptor<DOMNotificationRouterEvent>> classDisruptors;
+    private final ImmutableMap<String, RingBuffer<?>> queues;
+
+    DOMNotificationRouterDispatcher(final int queueDepth, final WaitStrategy strategy,
+            final Collection<DOMNotificationPriorityClass> priorityClasses) {
+        // Validate priority classes before starting any threads
+        final Set<SchemaPath> classTypes = new HashSet<>();
+        final Set<QName> classNames = new HashSet<>();
+        final Set<String> queueNames = new HashSet<>();
+        queueNames.add(DOMNotificationRouterStatistics.DEFAULT_QUEUE);
+        for (DOMNotificationPriorityClass priorityClass : priorityClasses) {
+            checkArgument(queueNames.add(priorityClass.getName()), "Duplicate priority class name %s",
+                priorityClass.getName());
+            for (SchemaPath type : priorityClass.getTypes()) {
+                checkArgument(classTypes.add(type), "Notification type %s is assigned to multiple priority classes",
+                    type);
+            }
+            for (QName name : priorityClass.getNames()) {
+                checkArgument(classNames.add(name), "Notification %s is assigned to multiple priority classes", name);
+            }
+        }
+
+        disruptor = startDisruptor(queueDepth, strategy, "DOMNotificationRouter-disruptor-%d");
+
+        final Map<SchemaPath, Disruptor<DOMNotificationRouterEvent>> types = new HashMap<>();
+        final Map<QName, Disruptor<DOMNotificationRouterEvent>> names = new HashMap<>();
+        final ImmutableList.Builder<Disruptor<DOMNotificationRouterEvent>> classes = ImmutableList.builder();
+        final ImmutableMap.Builder<String, RingBuffer<?>> queueBuilder = ImmutableMap.builder();
+        queueBuilder.put(DOMNotificationRouterStatistics.DEFAULT_QUEUE, disruptor.getRingBuffer());
+        for (DOMNotificationPriorityClass priorityClass : priorityClasses) {
+            final Disruptor<DOMNotificationRouterEvent> classDisruptor = startDisruptor(priorityClass.getQueueDepth(),
+                priorityClass.strategy(), "DOMNotificationRouter-" + priorityClass.getName() + "-disruptor-%d");
+            classes.add(classDisruptor);
+            queueBuilder.put(priorityClass.getName(), classDisruptor.getRingBuffer());
+            priorityClass.getTypes().forEach(type -> types.put(type, classDisruptor));
+            priorityClass.getNames().forEach(name -> names.put(name, classDisruptor));
+        }
+        typeDisruptors = ImmutableMap.copyOf(types);
+        nameDisruptors = ImmutableMap.copyOf(names);
+        classDisruptors = classes.build();
+        queues = queueBuilder.build();
+    }
+
+    private static Disruptor<DOMNotificationRouterEvent> startDisruptor(final int queueDepth,
+            final WaitStrategy strategy, final String nameFormat) {
+        final Disruptor<DOMNotificationRouterEvent> ret = new Disruptor<>(DOMNotificationRouterEvent.FACTORY,
+            queueDepth, new ThreadFactoryBuilder().setNameFormat(nameFormat).build(), ProducerType.MULTI, strategy);
+        ret.handleEventsWith(DISPATCH_NOTIFICATIONS);
+        ret.after(DISPATCH_NOTIFICATIONS).handleEventsWith(NOTIFY_FUTURE);
+        ret.start();
+        return ret;
+    }
+
+    /**
+     * Return the queues of this dispatcher, indexed by their name.
+     *
+     * @return Ring buffers of the default queue and of each priority class
+     */
+    ImmutableMap<String, RingBuffer<?>> queues() {
+        return queues;
+    }
+
+    Disruptor<DOMNotificationRouterEvent> disruptorFor(final DOMNotification notification) {
+        return classDisruptors.isEmpty() ? disruptor : disruptorFor(notification.getType());
+    }
+
+    private Disruptor<DOMNotificationRouterEvent> disruptorFor(final SchemaPath type) {
+        final Disruptor<DOMNotificationRouterEvent> byType = typeDisruptors.get(type);
+        if (byType != null) {
+            return byType;
+        }
+        final QName name = type.getLastComponent();
+        final Disruptor<DOMNotificationRouterEvent> byName = name == null ? null : nameDisruptors.get(name);
+        return byName != null ? byName : disruptor;
+    }
+
+    /**
+     * Check whether notifications of specified types are dispatched by more than one Disruptor, and hence may be
+     * delivered concurrently.
+     *
+     * @param types Notification types
+     * @return True if the types belong to more than one queue
+     */
+    boolean spansPriorityClasses(final Set<SchemaPath> types) {
+        if (classDisruptors.isEmpty()) {
+            return false;
+        }
+
+        Disruptor<DOMNotificationRouterEvent> first = null;
+        for (SchemaPath type : types) {
+            final Disruptor<DOMNotificationRouterEvent> target = disruptorFor(type);
+            if (first == null) {
+                first = target;
+            } else if (first != target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void shutdown() {
+        disruptor.shutdown();
+        classDisruptors.forEach(Disruptor::shutdown);
+    }
+}
@@ -9,13 +9,20 @@ package org.opendaylight.mdsal.dom.broker;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.SettableFuture;
 import com.lmax.disruptor.EventFactory;
 import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A single notification event in the disruptor ringbuffer. These objects are reused,
@@ -24,34 +31,150 @@ import org.opendaylight.yangtools.concepts.ListenerRegistration;
 final class DOMNotificationRouterEvent {
     static final EventFactory<DOMNotificationRouterEvent> FACTORY = DOMNotificationRouterEvent::new;
 
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationRouterEvent.class);
+
     private Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers;
     private DOMNotification notification;
-    private SettableFuture<Void> future;
+    // Null if the publisher is not interested in the outcome
+    private @Nullable DeliveryFuture future;
+    // Set when delivery has been handed over to lanes, which complete the future
+    private boolean deferred;
 
     private DOMNotificationRouterEvent() {
         // Hidden on purpose, initialized in initialize()
     }
 
-    @SuppressWarnings("checkstyle:hiddenField")
     ListenableFuture<Void> initialize(final DOMNotification notification,
             final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        final DeliveryFuture ret = new DeliveryFuture(1);
+        initialize(notification, subscribers, ret);
+        return ret;
+    }
+
+    void initializeUntracked(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        initialize(notification, subscribers, null);
+    }
+
+    @SuppressWarnings("checkstyle:hiddenField")
+    void initialize(final DOMNotification notification,
+            final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers,
+            final @Nullable DeliveryFuture future) {
         this.notification = requireNonNull(notification);
         this.subscribers = requireNonNull(subscribers);
-        this.future = SettableFuture.create();
-        return this.future;
+        this.future = future;
+        this.deferred = false;
     }
 
     void deliverNotification() {
+        LaneDelivery delivery = null;
         for (ListenerRegistration<? extends DOMNotificationListener> r : subscribers) {
             final DOMNotificationListener l = r.getInstance();
             if (l != null) {
-                l.onNotification(notification);
+                final DOMNotificationRouter.Registration<?> reg = r instanceof DOMNotificationRouter.Registration
+                    ? (DOMNotificationRouter.Registration<?>) r : null;
+                final Executor lane = reg == null ? null : reg.lane(notification);
+                if (lane == null) {
+                    deliver(l, notification, reg == null ? null : reg.deliveryLatency());
+                } else {
+                    if (delivery == null) {
+                        delivery = new LaneDelivery(future);
+                    }
+                    delivery.execute(lane, reg, l, notification);
+                }
             }
         }
+
+        if (delivery != null) {
+            deferred = true;
+            delivery.complete();
+        }
+    }
+
+    private static void deliver(final DOMNotificationListener listener, final DOMNotification notification,
+            final @Nullable LatencyHistogram latency) {
+        if (latency == null) {
+            listener.onNotification(notification);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            listener.onNotification(notification);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
     }
 
     void setFuture() {
-        future.set(null);
+        if (!deferred && future != null) {
+            future.delivered();
+        }
+    }
+
+    /**
+     * Tracks delivery of a single notification to listener lanes and completes its future once all lanes are done.
+     * The event itself is recycled as soon as the Disruptor stages complete, hence lanes must not reference it.
+     */
+    private static final class LaneDelivery {
+        // One for each outstanding lane, plus one released once all lanes have been scheduled
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final @Nullable DeliveryFuture future;
+
+        LaneDelivery(final @Nullable DeliveryFuture future) {
+            this.future = future;
+        }
+
+        void execute(final Executor lane, final DOMNotificationRouter.Registration<?> reg,
+                final DOMNotificationListener listener, final DOMNotification notification) {
+            pending.incrementAndGet();
+            try {
+                lane.execute(() -> deliver(reg, listener, notification));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Failed to deliver notification {} to {}", notification, listener, e);
+                reg.releaseLane();
+                complete();
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private void deliver(final DOMNotificationRouter.Registration<?> reg, final DOMNotificationListener listener,
+                final DOMNotification notification) {
+            try {
+                DOMNotificationRouterEvent.deliver(listener, notification, reg.deliveryLatency());
+            } catch (Exception e) {
+                LOG.warn("Listener {} failed to process notification {}", listener, notification, e);
+            } finally {
+                reg.releaseLane();
+                complete();
+            }
+        }
+
+        void complete() {
+            if (pending.decrementAndGet() == 0 && future != null) {
+                future.delivered();
+            }
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Future completed once a number of notifications have been delivered. A single notification has a future of its
+     * own, while all notifications in a batch share one.
+     */
+    static final class DeliveryFuture extends AbstractFuture<Void> {
+        private static final AtomicIntegerFieldUpdater<DeliveryFuture> PENDING_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(DeliveryFuture.class, "pending");
+
+        private volatile int pending;
+
+        DeliveryFuture(final int count) {
+            pending = count;
+        }
+
+        void delivered() {
+            if (PENDING_UPDATER.decrementAndGet(this) == 0) {
+                set(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
+import org.opendaylight.mdsal.dom.broker.DOMNotificationRouter.Registration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listener lanes of a {@link DOMNotificationRouter}. A lane is a sequential executor, which delivers notifications to
+ * a single registration in order, independently of other lanes. The number of notifications handed over to
+ * a registration's lanes, but not yet delivered, is bounded by lane permits, which publishers acquire before queueing
+ * a notification.
+ */
+final class DOMNotificationRouterLanes {
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationRouterLanes.class);
+    // Number of lanes of a keyed registration, per lane thread
+    private static final int KEYED_LANES_PER_THREAD = 4;
+
+    private final @Nullable ExecutorService laneExecutor;
+    // Runs lanes which are required even if this router does not use lanes otherwise
+    private final Executor fallbackExecutor;
+    private final int keyedLanes;
+    // Maximum number of notifications handed over to a registration's lanes, but not yet delivered
+    private final int capacity;
+
+    DOMNotificationRouterLanes(final int laneThreads, final int capacity, final Executor fallbackExecutor) {
+        this.capacity = capacity;
+        this.fallbackExecutor = requireNonNull(fallbackExecutor);
+        keyedLanes = laneThreads * KEYED_LANES_PER_THREAD;
+        laneExecutor = laneThreads == 0 ? null : Executors.newFixedThreadPool(laneThreads,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("DOMNotificationRouter-lanes-%d").build());
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Create a registration of a listener.
+     *
+     * @param router Router the registration belongs to
+     * @param listener Notification listener
+     * @param types Notification types which should be delivered to the listener
+     * @param needsLane True if the listener has to be invoked on a lane even if this router does not use lanes
+     * @return A new registration
+     */
+    <T extends DOMNotificationListener> Registration<T> newRegistration(final DOMNotificationRouter router,
+            final T listener, final ImmutableSet<SchemaPath> types, final boolean needsLane) {
+        if (laneExecutor != null) {
+            return new LaneRegistration<>(router, listener, types, capacity,
+                MoreExecutors.newSequentialExecutor(laneExecutor));
+        }
+        if (needsLane) {
+            return new LaneRegistration<>(router, listener, types, capacity,
+                MoreExecutors.newSequentialExecutor(fallbackExecutor));
+        }
+        return new Registration<>(router, listener, types);
+    }
+
+    /**
+     * Create a registration of a listener, which is invoked on one of multiple lanes, selected by the key of each
+     * notification. If this router does not use lanes, this is the same as
+     * {@link #newRegistration(DOMNotificationRouter, DOMNotificationListener, ImmutableSet, boolean)}.
+     */
+    <T extends DOMNotificationListener> Registration<T> newKeyedRegistration(final DOMNotificationRouter router,
+            final T listener, final ImmutableSet<SchemaPath> types,
+            final Function<? super DOMNotification, ?> keyExtractor, final boolean needsLane) {
+        if (laneExecutor == null) {
+            return newRegistration(router, listener, types, needsLane);
+        }
+
+        final Executor[] lanes = new Executor[keyedLanes];
+        for (int i = 0; i < lanes.length; ++i) {
+            lanes[i] = MoreExecutors.newSequentialExecutor(laneExecutor);
+        }
+        return new KeyedRegistration<>(router, listener, types, capacity, keyExtractor, lanes);
+    }
+
+    /**
+     * Create a registration of a listener, which is invoked on a lane that first delivers a replay of retained
+     * notifications. Live notifications are held back until {@link ReplayLane#start(List, Registration)} is invoked
+     * on the returned registration's lane.
+     */
+    <T extends DOMNotificationListener> Registration<T> newReplayRegistration(final DOMNotificationRouter router,
+            final T listener, final ImmutableSet<SchemaPath> types, final ReplayLane lane) {
+        return new LaneRegistration<>(router, listener, types, capacity, lane);
+    }
+
+    ReplayLane newReplayLane() {
+        return new ReplayLane(
+            MoreExecutors.newSequentialExecutor(laneExecutor != null ? laneExecutor : fallbackExecutor));
+    }
+
+    void shutdown() {
+        if (laneExecutor != null) {
+            laneExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Acquire a lane permit from each subscriber which delivers on lanes, waiting for its lanes to catch up if needed.
+     * Like claiming a Disruptor sequence, this does not respond to interruption.
+     */
+    static void acquire(final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        for (ListenerRegistration<? extends DOMNotificationListener> subscriber : subscribers) {
+            if (subscriber instanceof Registration) {
+                ((Registration<?>) subscriber).acquireLane();
+            }
+        }
+    }
+
+    /**
+     * Acquire a lane permit from each subscriber which delivers on lanes, if all of them have one available.
+     *
+     * @return True if all permits have been acquired, false if none have
+     */
+    static boolean tryAcquire(final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+        int acquired = 0;
+        for (ListenerRegistration<? extends DOMNotificationListener> subscriber : subscribers) {
+            if (subscriber instanceof Registration && !((Registration<?>) subscriber).tryAcquireLane()) {
+                release(subscribers, acquired);
+                return false;
+            }
+            acquired++;
+        }
+        return true;
+    }
+
+    /**
+     * Release lane permits acquired from the first {@code count} subscribers.
+     */
+    static void release(final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers,
+            final int count) {
+        int remaining = count;
+        for (ListenerRegistration<? extends DOMNotificationListener> subscriber : subscribers) {
+            if (remaining-- == 0) {
+                break;
+            }
+            if (subscriber instanceof Registration) {
+                ((Registration<?>) subscriber).releaseLane();
+            }
+        }
+    }
+
+    /**
+     * A registration whose listener is invoked on its own lane.
+     */
+    private static final class LaneRegistration<T extends DOMNotificationListener> extends Registration<T> {
+        private final Executor lane;
+
+        LaneRegistration(final DOMNotificationRouter router, final T listener, final ImmutableSet<SchemaPath> types,
+                final int laneCapacity, final Executor lane) {
+            super(router, listener, types, laneCapacity);
+            this.lane = requireNonNull(lane);
+        }
+
+        @Override
+        Executor lane(final DOMNotification notification) {
+            return lane;
+        }
+    }
+
+    /**
+     * A lane which holds back live notifications until the replay has been scheduled.
+     */
+    static final class ReplayLane implements Executor {
+        private final Executor lane;
+
+        // Live deliveries submitted before the replay has been scheduled, null once it has
+        private volatile List<Runnable> pending = new ArrayList<>();
+
+        ReplayLane(final Executor lane) {
+            this.lane = requireNonNull(lane);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (pending != null) {
+                synchronized (this) {
+                    final List<Runnable> local = pending;
+                    if (local != null) {
+                        local.add(command);
+                        return;
+                    }
+                }
+            }
+            lane.execute(command);
+        }
+
+        synchronized void start(final List<DOMNotification> notifications, final Registration<?> reg) {
+            try {
+                for (DOMNotification notification : notifications) {
+                    lane.execute(() -> replay(reg, notification));
+                }
+                // Hand over held-back deliveries before letting new ones through, so they retain their order
+                pending.forEach(lane::execute);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Failed to replay notifications to {}", reg.getInstance(), e);
+            } finally {
+                pending = null;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private static void replay(final Registration<?> reg, final DOMNotification notification) {
+            if (reg.isClosed()) {
+                return;
+            }
+
+            final DOMNotificationListener listener = reg.getInstance();
+            final long start = System.nanoTime();
+            try {
+                listener.onNotification(notification);
+            } catch (Exception e) {
+                LOG.warn("Listener {} failed to process replayed notification {}", listener, notification, e);
+            } finally {
+                reg.deliveryLatency().record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * A registration whose listener is invoked on one of its lanes, selected by the notification's key.
+     */
+    private static final class KeyedRegistration<T extends DOMNotificationListener> extends Registration<T> {
+        private final Function<? super DOMNotification, ?> keyExtractor;
+        private final Executor[] lanes;
+
+        KeyedRegistration(final DOMNotificationRouter router, final T listener, final ImmutableSet<SchemaPath> types,
+                final int laneCapacity, final Function<? super DOMNotification, ?> keyExtractor,
+                final Executor[] lanes) {
+            super(router, listener, types, laneCapacity);
+            this.keyExtractor = requireNonNull(keyExtractor);
+            this.lanes = requireNonNull(lanes);
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        Executor lane(final DOMNotification notification) {
+            Object key;
+            try {
+                key = keyExtractor.apply(notification);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to extract key of {} for {}, assuming null key", notification, getInstance(), e);
+                key = null;
+            }
+            return lanes[Math.floorMod(Objects.hashCode(key), lanes.length)];
+        }
+    }
+}
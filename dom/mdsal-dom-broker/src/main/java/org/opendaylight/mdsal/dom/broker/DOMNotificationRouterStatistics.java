@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.lmax.disruptor.RingBuffer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Statistics of a {@link DOMNotificationRouter}. These cover:
+ * <ul>
+ *   <li>occupancy of each queue, i.e. the default queue and the queues of individual
+ *       {@link DOMNotificationPriorityClass}es, identified by their name,</li>
+ *   <li>number of notifications published and rejected, per notification type,</li>
+ *   <li>time spent by each registered listener processing a notification, tracked in a {@link LatencyHistogram}.</li>
+ * </ul>
+ * Notifications which do not have any subscribers are not queued and therefore are not counted as published.
+ */
+public final class DOMNotificationRouterStatistics {
+    /**
+     * Name of the queue used by notifications which do not belong to any {@link DOMNotificationPriorityClass}.
+     */
+    public static final @NonNull String DEFAULT_QUEUE = "default";
+
+    private static final class TypeCounters {
+        final LongAdder published = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+    }
+
+    private final ConcurrentMap<SchemaPath, TypeCounters> types = new ConcurrentHashMap<>();
+    private final ImmutableMap<String, RingBuffer<?>> queues;
+    private final Map<SchemaPath, ? extends Collection<ListenerRegistration<? extends DOMNotificationListener>>>
+        listeners;
+
+    DOMNotificationRouterStatistics(final ImmutableMap<String, RingBuffer<?>> queues,
+            final Map<SchemaPath, ? extends Collection<ListenerRegistration<? extends DOMNotificationListener>>>
+                listeners) {
+        this.queues = requireNonNull(queues);
+        this.listeners = requireNonNull(listeners);
+    }
+
+    /**
+     * Return the names of queues.
+     *
+     * @return names of queues
+     */
+    public @NonNull Set<String> getQueueNames() {
+        return queues.keySet();
+    }
+
+    /**
+     * Return the depth of a particular queue.
+     *
+     * @param queueName queue name
+     * @return queue depth
+     * @throws IllegalArgumentException if the queue is not known
+     */
+    public int getQueueDepth(final String queueName) {
+        return queue(queueName).getBufferSize();
+    }
+
+    /**
+     * Return the number of notifications a particular queue can accept without blocking.
+     *
+     * @param queueName queue name
+     * @return remaining capacity
+     * @throws IllegalArgumentException if the queue is not known
+     */
+    public long getRemainingCapacity(final String queueName) {
+        return queue(queueName).remainingCapacity();
+    }
+
+    /**
+     * Return the notification types which have been published or rejected.
+     *
+     * @return notification types
+     */
+    public @NonNull Set<SchemaPath> getNotificationTypes() {
+        return ImmutableSet.copyOf(types.keySet());
+    }
+
+    /**
+     * Return the number of notifications of a particular type which have been accepted for delivery.
+     *
+     * @param type notification type
+     * @return number of published notifications
+     */
+    public long getPublishedCount(final SchemaPath type) {
+        final TypeCounters counters = types.get(requireNonNull(type));
+        return counters == null ? 0 : counters.published.sum();
+    }
+
+    /**
+     * Return the number of notifications of a particular type which have been rejected due to insufficient queue
+     * capacity.
+     *
+     * @param type notification type
+     * @return number of rejected notifications
+     */
+    public long getRejectedCount(final SchemaPath type) {
+        final TypeCounters counters = types.get(requireNonNull(type));
+        return counters == null ? 0 : counters.rejected.sum();
+    }
+
+    /**
+     * Return delivery latency histograms of currently-registered listeners.
+     *
+     * @return A map of listener registrations to their delivery latency histograms
+     */
+    public @NonNull Map<ListenerRegistration<? extends DOMNotificationListener>, LatencyHistogram>
+            getListenerLatencies() {
+        // A registration may be subscribed to multiple types, hence we need to de-duplicate
+        final Map<ListenerRegistration<? extends DOMNotificationListener>, LatencyHistogram> ret =
+                new IdentityHashMap<>();
+        for (Collection<ListenerRegistration<? extends DOMNotificationListener>> regs : listeners.values()) {
+            for (ListenerRegistration<? extends DOMNotificationListener> reg : regs) {
+                if (reg instanceof DOMNotificationRouter.Registration) {
+                    ret.putIfAbsent(reg, ((DOMNotificationRouter.Registration<?>) reg).deliveryLatency());
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Reset all counters and histograms of currently-registered listeners.
+     */
+    public void reset() {
+        types.clear();
+        getListenerLatencies().values().forEach(LatencyHistogram::reset);
+    }
+
+    void published(final SchemaPath type) {
+        counters(type).published.increment();
+    }
+
+    void rejected(final SchemaPath type) {
+        counters(type).rejected.increment();
+    }
+
+    private TypeCounters counters(final SchemaPath type) {
+        // Check first, so we do not lock in the common case
+        final TypeCounters existing = types.get(type);
+        return existing != null ? existing : types.computeIfAbsent(type, key -> new TypeCounters());
+    }
+
+    private RingBuffer<?> queue(final String queueName) {
+        final RingBuffer<?> ret = queues.get(requireNonNull(queueName));
+        checkArgument(ret != null, "Unknown queue %s", queueName);
+        return ret;
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
@@ -16,6 +17,7 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableClassToInstanceMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.MapDifference.ValueDifference;
@@ -32,7 +34,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,7 +69,6 @@ import org.opendaylight.yangtools.concepts.ObjectRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContextListener;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
@@ -84,6 +84,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
     private final DOMActionService actionService = new ActionServiceFacade();
     private final DOMRpcProviderService rpcProviderService = new RpcProviderServiceFacade();
     private final DOMRpcService rpcService = new RpcServiceFacade();
+    private final DOMRpcSelectionStrategy selectionStrategy;
 
     @GuardedBy("this")
     private Collection<Registration<?>> listeners = Collections.emptyList();
@@ -97,8 +98,27 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
 
     private ListenerRegistration<?> listenerRegistration;
 
+    public DOMRpcRouter() {
+        this(DOMRpcSelectionStrategy.lowestCost());
+    }
+
+    /**
+     * Create a new router, which uses specified strategy to select among multiple implementations of a global RPC.
+     *
+     * @param selectionStrategy implementation selection strategy
+     * @throws NullPointerException if selectionStrategy is null
+     */
+    public DOMRpcRouter(final DOMRpcSelectionStrategy selectionStrategy) {
+        this.selectionStrategy = requireNonNull(selectionStrategy);
+    }
+
     public static DOMRpcRouter newInstance(final DOMSchemaService schemaService) {
-        final DOMRpcRouter rpcRouter = new DOMRpcRouter();
+        return newInstance(schemaService, DOMRpcSelectionStrategy.lowestCost());
+    }
+
+    public static DOMRpcRouter newInstance(final DOMSchemaService schemaService,
+            final DOMRpcSelectionStrategy selectionStrategy) {
+        final DOMRpcRouter rpcRouter = new DOMRpcRouter(selectionStrategy);
         rpcRouter.listenerRegistration = schemaService.registerSchemaContextListener(rpcRouter);
         return rpcRouter;
     }
@@ -123,11 +143,49 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
             justification = "https://github.com/spotbugs/spotbugs/issues/811")
     private synchronized void removeRpcImplementation(final DOMRpcImplementation implementation,
             final Set<DOMRpcIdentifier> rpcs) {
+        updateRoutingTable((DOMRpcRoutingTable) routingTable.remove(implementation, rpcs), rpcs);
+    }
+
+    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
+            justification = "https://github.com/spotbugs/spotbugs/issues/811")
+    private synchronized void removeRpcImplementations(
+            final ImmutableMap<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> implementations) {
+        DOMRpcRoutingTable newTable = routingTable;
+        for (Entry<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> e : implementations.entrySet()) {
+            newTable = (DOMRpcRoutingTable) newTable.remove(e.getKey(), e.getValue());
+        }
+        updateRoutingTable(newTable, allRpcs(implementations));
+    }
+
+    private static ImmutableSet<DOMRpcIdentifier> allRpcs(
+            final ImmutableMap<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> implementations) {
+        return implementations.values().stream().flatMap(Set::stream).collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * Publish a new routing table and schedule notification of RPC availability listeners. The change is computed
+     * only once, by comparing implementations of the affected RPCs in the old and the new table, and each listener
+     * then only evaluates which of the changed RPCs it is interested in.
+     *
+     * @param newTable new routing table
+     * @param rpcs RPCs which may have been affected
+     */
+    @GuardedBy("this")
+    private void updateRoutingTable(final DOMRpcRoutingTable newTable, final Set<DOMRpcIdentifier> rpcs) {
         final DOMRpcRoutingTable oldTable = routingTable;
-        final DOMRpcRoutingTable newTable = (DOMRpcRoutingTable) oldTable.remove(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        // Listeners registered from now on will see the new table in their initial state, hence we capture only
+        // the current ones
+        final Collection<Registration<?>> toNotify = listeners;
+        listenerNotifier.execute(() -> {
+            final List<RpcAvailabilityChange> changes = RpcAvailabilityChange.compute(oldTable, newTable, rpcs);
+            if (!changes.isEmpty()) {
+                for (Registration<?> l : toNotify) {
+                    l.rpcsChanged(changes);
+                }
+            }
+        });
     }
 
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
@@ -153,20 +211,6 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
         actionListeners = ImmutableList.copyOf(Collections2.filter(actionListeners, input -> !reg.equals(input)));
     }
 
-    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD",
-            justification = "https://github.com/spotbugs/spotbugs/issues/811")
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
-        }
-    }
-
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
-        }
-    }
-
     private synchronized void notifyActionChanged(final DOMActionRoutingTable newTable,
             final DOMActionImplementation impl) {
         for (ActionRegistration<?> l : actionListeners) {
@@ -205,17 +249,47 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
         return routingTable;
     }
 
+    /**
+     * A change in implementations of a single RPC. Whether it results in the RPC becoming available or unavailable
+     * depends on which implementations a particular listener accepts.
+     */
+    private static final class RpcAvailabilityChange {
+        private final DOMRpcIdentifier rpc;
+        private final List<DOMRpcImplementation> before;
+        private final List<DOMRpcImplementation> after;
+
+        RpcAvailabilityChange(final DOMRpcIdentifier rpc, final List<DOMRpcImplementation> before,
+                final List<DOMRpcImplementation> after) {
+            this.rpc = requireNonNull(rpc);
+            this.before = requireNonNull(before);
+            this.after = requireNonNull(after);
+        }
+
+        static List<RpcAvailabilityChange> compute(final DOMRpcRoutingTable oldTable,
+                final DOMRpcRoutingTable newTable, final Set<DOMRpcIdentifier> rpcs) {
+            final List<RpcAvailabilityChange> ret = new ArrayList<>(rpcs.size());
+            for (DOMRpcIdentifier rpc : rpcs) {
+                final List<DOMRpcImplementation> before = oldTable.getImplementations(rpc);
+                final List<DOMRpcImplementation> after = newTable.getImplementations(rpc);
+                if (!before.equals(after)) {
+                    ret.add(new RpcAvailabilityChange(rpc, before, after));
+                }
+            }
+            return ret;
+        }
+    }
+
     private static final class Registration<T extends DOMRpcAvailabilityListener>
         extends AbstractListenerRegistration<T> {
 
-        private Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs;
+        private Map<SchemaPath, Set<YangInstanceIdentifier>> initialRpcs;
         private DOMRpcRouter router;
 
         Registration(final DOMRpcRouter router, final T listener,
                 final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs) {
             super(listener);
             this.router = requireNonNull(router);
-            this.prevRpcs = requireNonNull(rpcs);
+            this.initialRpcs = requireNonNull(rpcs);
         }
 
         @Override
@@ -226,64 +300,38 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
 
         void initialTable() {
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : prevRpcs.entrySet()) {
+            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : initialRpcs.entrySet()) {
                 added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
             }
+            // Subsequent updates are delivered as changes, hence we do not need this anymore
+            initialRpcs = null;
             if (!added.isEmpty()) {
                 getInstance().onRpcAvailable(added);
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-            final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
+        void rpcsChanged(final List<RpcAvailabilityChange> changes) {
+            if (isClosed()) {
                 return;
             }
 
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = verifyNotNull(newTable.getOperations(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
-            final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e :
-                    diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
-                }
-            }
-
-            prevRpcs = rpcs;
-            if (!added.isEmpty()) {
-                l.onRpcAvailable(added);
-            }
-        }
-
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
             final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
-                return;
-            }
-
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = verifyNotNull(newTable.getOperations(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
+            final Collection<DOMRpcIdentifier> added = new ArrayList<>();
             final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e :
-                    diff.entriesDiffering().entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (RpcAvailabilityChange change : changes) {
+                final boolean wasAvailable = change.before.stream().anyMatch(l::acceptsImplementation);
+                final boolean isAvailable = change.after.stream().anyMatch(l::acceptsImplementation);
+                if (wasAvailable != isAvailable) {
+                    (isAvailable ? added : removed).add(change.rpc);
                 }
             }
 
-            prevRpcs = rpcs;
             if (!removed.isEmpty()) {
                 l.onRpcUnavailable(removed);
             }
+            if (!added.isEmpty()) {
+                l.onRpcAvailable(added);
+            }
         }
     }
 
@@ -432,7 +480,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
                     new DOMRpcImplementationNotAvailableException("No implementation of RPC %s available", type));
             }
 
-            return OperationInvocation.invoke(entry, input);
+            return OperationInvocation.invoke(entry, input, selectionStrategy);
         }
 
         @Override
@@ -463,11 +511,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
             final T implementation, final Set<DOMRpcIdentifier> rpcs) {
 
             synchronized (DOMRpcRouter.this) {
-                final DOMRpcRoutingTable oldTable = routingTable;
-                final DOMRpcRoutingTable newTable = (DOMRpcRoutingTable) oldTable.add(implementation, rpcs);
-                routingTable = newTable;
-
-                listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+                updateRoutingTable((DOMRpcRoutingTable) routingTable.add(implementation, rpcs), rpcs);
             }
 
             return new AbstractDOMRpcImplementationRegistration<>(implementation) {
@@ -477,6 +521,34 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
                 }
             };
         }
+
+        @Override
+        public org.opendaylight.yangtools.concepts.Registration registerRpcImplementations(
+                final Map<? extends DOMRpcImplementation, ? extends Set<DOMRpcIdentifier>> implementations) {
+            final ImmutableMap.Builder<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> builder =
+                    ImmutableMap.builderWithExpectedSize(implementations.size());
+            implementations.forEach((impl, rpcs) -> {
+                checkArgument(!rpcs.isEmpty(), "No RPCs specified for %s", impl);
+                builder.put(impl, ImmutableSet.copyOf(rpcs));
+            });
+            final ImmutableMap<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> impls = builder.build();
+
+            // Publish a single routing table generation and notify listeners only once
+            synchronized (DOMRpcRouter.this) {
+                DOMRpcRoutingTable newTable = routingTable;
+                for (Entry<DOMRpcImplementation, ImmutableSet<DOMRpcIdentifier>> e : impls.entrySet()) {
+                    newTable = (DOMRpcRoutingTable) newTable.add(e.getKey(), e.getValue());
+                }
+                updateRoutingTable(newTable, allRpcs(impls));
+            }
+
+            return new AbstractRegistration() {
+                @Override
+                protected void removeRegistration() {
+                    removeRpcImplementations(impls);
+                }
+            };
+        }
     }
 
     static final class OperationInvocation {
@@ -489,6 +561,11 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
 
         static ListenableFuture<DOMRpcResult> invoke(final AbstractDOMRpcRoutingTableEntry entry,
                 final NormalizedNode<?, ?> input) {
+            return invoke(entry, input, RpcSelectionStrategies.LOWEST_COST);
+        }
+
+        static ListenableFuture<DOMRpcResult> invoke(final AbstractDOMRpcRoutingTableEntry entry,
+                final NormalizedNode<?, ?> input, final DOMRpcSelectionStrategy selectionStrategy) {
             if (entry instanceof UnknownDOMRpcRoutingTableEntry) {
                 return Futures.immediateFailedFuture(
                     new DOMRpcImplementationNotAvailableException("SchemaPath %s is not resolved to an RPC",
@@ -496,7 +573,7 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
             } else if (entry instanceof RoutedDOMRpcRoutingTableEntry) {
                 return invokeRoutedRpc((RoutedDOMRpcRoutingTableEntry) entry, input);
             } else if (entry instanceof GlobalDOMRpcRoutingTableEntry) {
-                return invokeGlobalRpc((GlobalDOMRpcRoutingTableEntry) entry, input);
+                return invokeGlobalRpc((GlobalDOMRpcRoutingTableEntry) entry, input, selectionStrategy);
             }
 
             return Futures.immediateFailedFuture(
@@ -505,13 +582,10 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
 
         private static ListenableFuture<DOMRpcResult> invokeRoutedRpc(final RoutedDOMRpcRoutingTableEntry entry,
                 final NormalizedNode<?, ?> input) {
-            final Optional<NormalizedNode<?, ?>> maybeKey = NormalizedNodes.findNode(input,
-                entry.getRpcId().getContextReference());
+            final Object value = entry.routingContext(input);
 
             // Routing key is present, attempt to deliver as a routed RPC
-            if (maybeKey.isPresent()) {
-                final NormalizedNode<?, ?> key = maybeKey.get();
-                final Object value = key.getValue();
+            if (value != null) {
                 if (value instanceof YangInstanceIdentifier) {
                     final YangInstanceIdentifier iid = (YangInstanceIdentifier) value;
 
@@ -550,8 +624,11 @@ public final class DOMRpcRouter extends AbstractRegistration implements Effectiv
         }
 
         private static ListenableFuture<DOMRpcResult> invokeGlobalRpc(final GlobalDOMRpcRoutingTableEntry entry,
-                final NormalizedNode<?, ?> input) {
-            return entry.getImplementations(YangInstanceIdentifier.empty()).get(0).invokeRpc(entry.getRpcId(), input);
+                final NormalizedNode<?, ?> input, final DOMRpcSelectionStrategy selectionStrategy) {
+            final List<DOMRpcImplementation> impls = entry.getImplementations(YangInstanceIdentifier.empty());
+            // Do not bother the strategy if there is nothing to select from
+            return impls.size() == 1 ? impls.get(0).invokeRpc(entry.getRpcId(), input)
+                : selectionStrategy.invokeRpc(impls, entry.getRpcId(), input);
         }
     }
 }
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
@@ -39,6 +40,15 @@ final class DOMRpcRoutingTable extends AbstractDOMRoutingTable<DOMRpcIdentifier,
         return contexts != null && contexts.containsContext(input.getContextReference());
     }
 
+    List<DOMRpcImplementation> getImplementations(final DOMRpcIdentifier input) {
+        final AbstractDOMRpcRoutingTableEntry entry = (AbstractDOMRpcRoutingTableEntry) getEntry(input.getType());
+        if (entry == null) {
+            return ImmutableList.of();
+        }
+        final List<DOMRpcImplementation> impls = entry.getImplementations(input.getContextReference());
+        return impls != null ? impls : ImmutableList.of();
+    }
+
     @Override
     protected DOMRpcRoutingTable newInstance(final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> operations,
             final EffectiveModelContext schemaContext) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Strategy used by {@link DOMRpcRouter} to select which of multiple implementations registered for a global RPC
+ * should handle an invocation. It is consulted only when there is more than one implementation.
+ */
+@Beta
+@FunctionalInterface
+public interface DOMRpcSelectionStrategy {
+    /**
+     * Invoke an RPC on one of the specified implementations.
+     *
+     * @param implementations Implementations registered for the RPC, ordered by their
+     *                        {@link DOMRpcImplementation#invocationCost()}, never empty
+     * @param rpc RPC identifier which was invoked
+     * @param input Input arguments, null if the RPC does not take any.
+     * @return A {@link ListenableFuture} returned by the selected implementation
+     */
+    @NonNull ListenableFuture<DOMRpcResult> invokeRpc(@NonNull List<DOMRpcImplementation> implementations,
+            @NonNull DOMRpcIdentifier rpc, @Nullable NormalizedNode<?, ?> input);
+
+    /**
+     * Return a strategy which always selects the implementation with the lowest invocation cost. This is the default
+     * strategy.
+     *
+     * @return A selection strategy
+     */
+    static @NonNull DOMRpcSelectionStrategy lowestCost() {
+        return RpcSelectionStrategies.LOWEST_COST;
+    }
+
+    /**
+     * Return a strategy which cycles through the implementations of each RPC in turn, ignoring their cost.
+     *
+     * @return A selection strategy
+     */
+    static @NonNull DOMRpcSelectionStrategy roundRobin() {
+        return new RpcSelectionStrategies.RoundRobin();
+    }
+
+    /**
+     * Return a strategy which selects the implementation with the fewest invocations which have not completed yet.
+     * Ties are broken by invocation cost.
+     *
+     * @return A selection strategy
+     */
+    static @NonNull DOMRpcSelectionStrategy leastOutstanding() {
+        return new RpcSelectionStrategies.LeastOutstanding();
+    }
+
+    /**
+     * Return a strategy which selects the implementation with the lowest expected completion time, based on the
+     * observed latency of its completed invocations and the number of its invocations which have not completed yet.
+     * Implementations which have not completed any invocation yet are preferred while they have no invocations in
+     * progress, so that their latency gets measured. Until then they are assumed to be as fast as the other
+     * implementations are on average.
+     *
+     * @return A selection strategy
+     */
+    static @NonNull DOMRpcSelectionStrategy lowestLatency() {
+        return new RpcSelectionStrategies.LowestLatency();
+    }
+}
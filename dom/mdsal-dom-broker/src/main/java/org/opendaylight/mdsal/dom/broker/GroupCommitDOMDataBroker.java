@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitter;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of a group commit coordinator, which supports coordination on multiple
+ * {@link DOMStoreThreePhaseCommitCohort}.
+ *
+ *<p>
+ * Ready transactions are placed on a queue. A single drain task, running on the supplied executor, picks up all
+ * transactions which arrive within a configurable batch window, up to a maximum batch size. Each transaction of the
+ * batch is taken through canCommit and preCommit in turn, so it is validated against the state left behind by its
+ * predecessors, and a transaction failing to prepare does not affect the rest of its batch.
+ *
+ *<p>
+ * If all cohorts of a transaction are {@link DOMStoreBatchCommitCohort}s with a {@link DOMStoreBatchCommitter}, such
+ * as those of an in-memory data store running in pipelined commit mode, its commit phase is deferred. Deferred
+ * transactions are then committed through a single {@link DOMStoreBatchCommitter#commitBatch(List)} invocation for
+ * each backing store. Transactions which cannot be deferred are committed on their own, after any transactions
+ * deferred before them.
+ *
+ *<p>
+ * The future returned for each transaction completes as soon as that particular transaction has committed, which for
+ * deferred transactions is when the batch they are part of has committed.
+ *
+ *<p>
+ * This implementation does not support cancellation of commit.
+ */
+public class GroupCommitDOMDataBroker extends AbstractDOMDataBroker {
+    private static final Logger LOG = LoggerFactory.getLogger(GroupCommitDOMDataBroker.class);
+
+    private final BlockingQueue<PendingCommit> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+
+    /**
+     * Construct GroupCommitDOMDataBroker which uses supplied executor to process commit batches.
+     *
+     * @param datastores the Map of backing DOMStore instances
+     * @param executor the Executor to use
+     * @param maxBatchSize maximum number of transactions processed in a single batch
+     * @param batchWindow how long to wait for more transactions to arrive once a batch has been started
+     * @param unit a TimeUnit determining how to interpret the batchWindow parameter
+     * @throws IllegalArgumentException if maxBatchSize is not positive or batchWindow is negative
+     */
+    public GroupCommitDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores, final Executor executor,
+            final int maxBatchSize, final long batchWindow, final TimeUnit unit) {
+        super(datastores);
+        this.executor = requireNonNull(executor, "executor must not be null.");
+        checkArgument(maxBatchSize > 0, "Maximum batch size %s is not positive", maxBatchSize);
+        checkArgument(batchWindow >= 0, "Batch window %s is negative", batchWindow);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = unit.toNanos(batchWindow);
+    }
+
+    @Override
+    protected FluentFuture<? extends CommitInfo> commit(final DOMDataTreeWriteTransaction transaction,
+            final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        checkCommitArguments(transaction, cohorts);
+        LOG.debug("Tx: {} is submitted for execution.", transaction.getIdentifier());
+
+        final PendingCommit pending = new PendingCommit(cohorts, new CommitCoordinationTask(transaction, cohorts,
+            getCommitStatsTracker(), getCommitLatencyStatistics()));
+        queue.add(pending);
+        scheduleDrain();
+        return FluentFuture.from(pending.future);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainQueue);
+            } catch (RejectedExecutionException e) {
+                LOG.error("The commit executor's queue is full - submit task was rejected. \n{}", executor, e);
+                draining.set(false);
+                failQueued(e);
+            }
+        }
+    }
+
+    private void failQueued(final RejectedExecutionException cause) {
+        PendingCommit pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.setException(new TransactionCommitFailedException(
+                "Could not submit the commit task - the commit queue capacity has been exceeded.", cause));
+        }
+    }
+
+    private void drainQueue() {
+        final List<PendingCommit> batch = new ArrayList<>(maxBatchSize);
+        boolean interrupted = false;
+        while (true) {
+            interrupted |= collectBatch(batch);
+            if (batch.isEmpty()) {
+                draining.set(false);
+
+                // Re-check the queue: a commit may have been enqueued after we have seen it empty, but before
+                // we have cleared the draining flag, in which case nobody has scheduled a drain task.
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                continue;
+            }
+
+            LOG.debug("Processing a batch of {} transactions", batch.size());
+            processBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private static void processBatch(final List<PendingCommit> batch) {
+        final List<PendingCommit> deferred = new ArrayList<>(batch.size());
+        for (PendingCommit pending : batch) {
+            if (pending.committers == null) {
+                // Make sure everything before this transaction is committed first
+                commitDeferred(deferred);
+                pending.run();
+            } else if (pending.prepare()) {
+                deferred.add(pending);
+            }
+        }
+        commitDeferred(deferred);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private static void commitDeferred(final List<PendingCommit> deferred) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+
+        // Group cohorts by their committer, retaining the order in which they have been prepared
+        final Map<DOMStoreBatchCommitter, List<DOMStoreBatchCommitCohort>> batches = new LinkedHashMap<>();
+        for (PendingCommit pending : deferred) {
+            for (int i = 0; i < pending.cohorts.length; ++i) {
+                batches.computeIfAbsent(pending.committers[i], key -> new ArrayList<>()).add(pending.cohorts[i]);
+            }
+        }
+
+        LOG.debug("Committing {} transactions in {} batches", deferred.size(), batches.size());
+        final long phaseStart = System.nanoTime();
+        final Map<DOMStoreBatchCommitCohort, ListenableFuture<?>> results = new IdentityHashMap<>();
+        batches.forEach((committer, cohorts) -> {
+            List<? extends ListenableFuture<?>> futures;
+            try {
+                futures = committer.commitBatch(cohorts);
+                verify(futures.size() == cohorts.size(), "Committer %s returned %s results for %s cohorts",
+                    committer, futures.size(), cohorts.size());
+            } catch (Exception e) {
+                LOG.error("Committer {} failed to commit {} cohorts", committer, cohorts.size(), e);
+                futures = Collections.nCopies(cohorts.size(), Futures.immediateFailedFuture(e));
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                results.put(cohorts.get(i), futures.get(i));
+            }
+        });
+
+        for (PendingCommit pending : deferred) {
+            final ListenableFuture<?>[] futures = new ListenableFuture<?>[pending.cohorts.length];
+            for (int i = 0; i < futures.length; ++i) {
+                futures[i] = results.get(pending.cohorts[i]);
+            }
+            pending.commit(futures, phaseStart);
+        }
+        deferred.clear();
+    }
+
+    /**
+     * Collect a batch of pending commits.
+     *
+     * @param batch List to fill
+     * @return True if we have been interrupted while waiting for the batch to fill up. The interrupt is not
+     *         propagated right away, as it would prevent the batch from being processed.
+     */
+    private boolean collectBatch(final List<PendingCommit> batch) {
+        queue.drainTo(batch, maxBatchSize);
+        if (batch.isEmpty() || batchWindowNanos == 0) {
+            return false;
+        }
+
+        final long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            final PendingCommit next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while waiting for batch to fill up, processing {} transactions",
+                    batch.size(), e);
+                return true;
+            }
+            if (next == null) {
+                break;
+            }
+
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+        return false;
+    }
+
+    private static final class PendingCommit {
+        final SettableFuture<CommitInfo> future = SettableFuture.create();
+        final CommitCoordinationTask task;
+        // Non-null only if all cohorts can be committed in a batch
+        final DOMStoreBatchCommitCohort[] cohorts;
+        final DOMStoreBatchCommitter[] committers;
+
+        PendingCommit(final Collection<DOMStoreThreePhaseCommitCohort> cohorts, final CommitCoordinationTask task) {
+            this.task = requireNonNull(task);
+
+            final DOMStoreBatchCommitCohort[] batchCohorts = new DOMStoreBatchCommitCohort[cohorts.size()];
+            final DOMStoreBatchCommitter[] batchCommitters = new DOMStoreBatchCommitter[batchCohorts.length];
+            int index = 0;
+            for (DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+                if (!(cohort instanceof DOMStoreBatchCommitCohort)) {
+                    break;
+                }
+                final DOMStoreBatchCommitCohort batchCohort = (DOMStoreBatchCommitCohort) cohort;
+                final DOMStoreBatchCommitter committer = batchCohort.getBatchCommitter();
+                if (committer == null) {
+                    break;
+                }
+                batchCohorts[index] = batchCohort;
+                batchCommitters[index++] = committer;
+            }
+
+            if (index == batchCohorts.length) {
+                this.cohorts = batchCohorts;
+                this.committers = batchCommitters;
+            } else {
+                this.cohorts = null;
+                this.committers = null;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void run() {
+            try {
+                future.set(task.call());
+            } catch (Exception e) {
+                future.setException(e);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        boolean prepare() {
+            try {
+                task.prepare();
+                return true;
+            } catch (Exception e) {
+                future.setException(e);
+                return false;
+            }
+        }
+
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void commit(final ListenableFuture<?>[] commitFutures, final long phaseStart) {
+            try {
+                future.set(task.commit(commitFutures, phaseStart));
+            } catch (Exception e) {
+                future.setException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets, similar in spirit to HdrHistogram. Each power-of-two range
+ * of nanoseconds is split into eight linear sub-buckets, hence reported values are within 12.5%
+ * of the recorded ones, while the entire range of {@code long} nanoseconds is covered by a fixed number of buckets.
+ *
+ *<p>
+ * Recording a value costs a few atomic operations and does not allocate. Reads are not atomic with respect to
+ * concurrent recording, which means they may observe a value being partially recorded.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Record a single latency.
+     *
+     * @param nanos latency in nanoseconds, negative values are treated as zero
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+
+        long prev = maxNanos.get();
+        while (value > prev && !maxNanos.compareAndSet(prev, value)) {
+            prev = maxNanos.get();
+        }
+    }
+
+    /**
+     * Return the number of recorded values.
+     *
+     * @return number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Return the largest recorded value.
+     *
+     * @param unit unit in which to report the value
+     * @return largest recorded value, or 0 if no values have been recorded
+     */
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Return the mean of recorded values.
+     *
+     * @param unit unit in which to report the value
+     * @return mean of recorded values, or 0 if no values have been recorded
+     */
+    public long getMean(final TimeUnit unit) {
+        final long count = getCount();
+        return count == 0 ? 0 : unit.convert(totalNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Return the value at a particular percentile, i.e. the value below which the specified percentage of values
+     * falls. Reported value is the upper bound of the bucket in which the percentile falls, but never larger than
+     * {@link #getMax(TimeUnit)}.
+     *
+     * @param percentile percentile, in range of 0 to 100 inclusive
+     * @param unit unit in which to report the value
+     * @return value at specified percentile, or 0 if no values have been recorded
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getValueAtPercentile(final double percentile, final TimeUnit unit) {
+        checkArgument(percentile >= 0 && percentile <= 100, "Percentile %s is out of range", percentile);
+
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return unit.convert(Math.min(bucketUpperBound(i), maxNanos.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+        return getMax(unit);
+    }
+
+    /**
+     * Reset this histogram. Values recorded concurrently with this method may be lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", getCount())
+                .add("meanNanos", getMean(TimeUnit.NANOSECONDS))
+                .add("p50Nanos", getValueAtPercentile(50, TimeUnit.NANOSECONDS))
+                .add("p99Nanos", getValueAtPercentile(99, TimeUnit.NANOSECONDS))
+                .add("maxNanos", getMax(TimeUnit.NANOSECONDS))
+                .toString();
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> exponent - SUB_BUCKET_BITS) & SUB_BUCKET_MASK;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.opendaylight.mdsal.dom.api.DOMEvent;
+import org.opendaylight.mdsal.dom.api.DOMNotification;
+
+/**
+ * Bounded buffer of the most recent notifications of a single type, retained for the purpose of replaying them to
+ * listeners which register later. The buffer is bounded both by the number of notifications and by their total
+ * weight, as determined by a user-supplied weigher.
+ *
+ * <p>
+ * All methods are synchronized. {@link DOMNotificationRouter} also holds the monitor while it resolves subscribers of
+ * a recorded notification, which makes recording atomic with respect to replaying registrations.
+ */
+final class NotificationReplayBuffer {
+    static final class Entry {
+        // Global sequence, so replays covering multiple types are delivered in the order the notifications arrived
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        final DOMNotification notification;
+        final Instant instant;
+        final long sequence;
+        final long weight;
+
+        Entry(final DOMNotification notification, final long weight) {
+            this.notification = requireNonNull(notification);
+            this.weight = weight;
+            instant = notification instanceof DOMEvent ? ((DOMEvent) notification).getEventInstant() : Instant.now();
+            sequence = SEQUENCE.getAndIncrement();
+        }
+    }
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ToLongFunction<? super DOMNotification> weigher;
+    private final int maxCount;
+    private final long maxWeight;
+
+    private long weight;
+
+    NotificationReplayBuffer(final int maxCount, final long maxWeight,
+            final ToLongFunction<? super DOMNotification> weigher) {
+        this.maxCount = maxCount;
+        this.maxWeight = maxWeight;
+        this.weigher = requireNonNull(weigher);
+    }
+
+    synchronized void record(final DOMNotification notification) {
+        final Entry entry = new Entry(notification, weigher.applyAsLong(notification));
+        entries.addLast(entry);
+        weight += entry.weight;
+
+        // Evict oldest entries, but always retain the latest notification
+        while (entries.size() > maxCount || (weight > maxWeight && entries.size() > 1)) {
+            weight -= entries.removeFirst().weight;
+        }
+    }
+
+    synchronized void discard(final DOMNotification notification) {
+        // The notification has just been recorded, hence searching from the end is efficient
+        final Iterator<Entry> it = entries.descendingIterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.notification == notification) {
+                it.remove();
+                weight -= entry.weight;
+                return;
+            }
+        }
+    }
+
+    synchronized void select(final DOMNotificationReplay replay, final List<Entry> to) {
+        final Instant since = replay.since();
+        int remaining = replay.count();
+        final Iterator<Entry> it = entries.descendingIterator();
+        while (remaining > 0 && it.hasNext()) {
+            final Entry entry = it.next();
+            if (since == null || !entry.instant.isBefore(since)) {
+                to.add(entry);
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Merge entries selected from a number of buffers into the list of notifications to be replayed, oldest first.
+     *
+     * @param selected selected entries
+     * @param replay replay selection
+     * @return notifications to be replayed
+     */
+    static List<DOMNotification> merge(final List<Entry> selected, final DOMNotificationReplay replay) {
+        return selected.stream()
+            .sorted(Comparator.comparingLong((Entry entry) -> entry.sequence).reversed())
+            .limit(replay.count())
+            .sorted(Comparator.comparingLong(entry -> entry.sequence))
+            .map(entry -> entry.notification)
+            .collect(Collectors.toList());
+    }
+}
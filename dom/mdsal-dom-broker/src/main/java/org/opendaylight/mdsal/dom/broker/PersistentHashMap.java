@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An immutable hash array mapped trie. Updates are performed via {@link #plus(Object, Object)} and
+ * {@link #minus(Object)}, which return a new map sharing all untouched parts of the trie with this map. Each update
+ * therefore costs O(log n), as opposed to copying the entire map. Neither keys nor values may be null.
+ *
+ * <p>
+ * Each level of the trie consumes 5 bits of the key's hash. Keys whose hashes are completely equal are stored in
+ * collision nodes, which are searched linearly.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    /**
+     * A trie node. Its contents are stored as pairs in an array, where the first item is a key and the second one is
+     * its value. If the key is null, the second item is a child node.
+     */
+    private abstract static class Node {
+        final Object[] array;
+
+        Node(final Object[] array) {
+            this.array = array;
+        }
+
+        abstract @Nullable Object get(Object key, int hash, int shift);
+
+        abstract @NonNull Node put(Object key, Object value, int hash, int shift);
+
+        /**
+         * Remove a key from this node.
+         *
+         * @return This node if the key is not present, a new node, or null if the resulting node would be empty
+         */
+        abstract @Nullable Node remove(Object key, int hash, int shift);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object get(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int idx = index(bit);
+            final Object existingKey = array[idx];
+            final Object existing = array[idx + 1];
+            if (existingKey == null) {
+                return ((Node) existing).get(key, hash, shift + BITS);
+            }
+            return key.equals(existingKey) ? existing : null;
+        }
+
+        @Override
+        Node put(final Object key, final Object value, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, idx);
+                newArray[idx] = key;
+                newArray[idx + 1] = value;
+                System.arraycopy(array, idx, newArray, idx + 2, array.length - idx);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            final Object existingKey = array[idx];
+            final Object existing = array[idx + 1];
+            if (existingKey == null) {
+                final Node child = ((Node) existing).put(key, value, hash, shift + BITS);
+                return child == existing ? this : withSlot(idx, null, child);
+            }
+            if (key.equals(existingKey)) {
+                return value == existing ? this : withSlot(idx, existingKey, value);
+            }
+
+            // Push both mappings one level down
+            final int existingHash = hash(existingKey);
+            final Node child = existingHash == hash
+                ? new CollisionNode(hash, new Object[] { existingKey, existing, key, value })
+                    : EMPTY.put(existingKey, existing, existingHash, shift + BITS)
+                        .put(key, value, hash, shift + BITS);
+            return withSlot(idx, null, child);
+        }
+
+        @Override
+        Node remove(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final Object existingKey = array[idx];
+            final Object existing = array[idx + 1];
+            if (existingKey == null) {
+                final Node child = ((Node) existing).remove(key, hash, shift + BITS);
+                if (child == existing) {
+                    return this;
+                }
+                if (child == null) {
+                    return without(bit, idx);
+                }
+                // Pull up a lone mapping, so the trie does not retain degenerate nodes
+                return child.array.length == 2 && child.array[0] != null
+                    ? withSlot(idx, child.array[0], child.array[1]) : withSlot(idx, null, child);
+            }
+            return key.equals(existingKey) ? without(bit, idx) : this;
+        }
+
+        private int index(final int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode withSlot(final int idx, final Object key, final Object value) {
+            final Object[] newArray = array.clone();
+            newArray[idx] = key;
+            newArray[idx + 1] = value;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private BitmapNode without(final int bit, final int idx) {
+            if (bitmap == bit) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, newArray.length - idx);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object get(final Object key, final int keyHash, final int shift) {
+            final int idx = find(key);
+            return idx == -1 ? null : array[idx + 1];
+        }
+
+        @Override
+        Node put(final Object key, final Object value, final int keyHash, final int shift) {
+            if (keyHash != hash) {
+                // Nest this node into a bitmap node, which can tell the two hashes apart
+                return new BitmapNode(BitmapNode.bit(hash, shift), new Object[] { null, this })
+                    .put(key, value, keyHash, shift);
+            }
+
+            final int idx = find(key);
+            if (idx != -1) {
+                if (array[idx + 1] == value) {
+                    return this;
+                }
+                final Object[] newArray = array.clone();
+                newArray[idx + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+
+            final Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(final Object key, final int keyHash, final int shift) {
+            final int idx = keyHash == hash ? find(key) : -1;
+            if (idx == -1) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, newArray.length - idx);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int find(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        // Arrays of nodes we have descended from and offsets at which to resume iterating them
+        private final Deque<Object[]> parents = new ArrayDeque<>();
+        private final Deque<Integer> offsets = new ArrayDeque<>();
+
+        private Object[] array;
+        private int offset;
+
+        EntryIterator(final Node root) {
+            array = root.array;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return array != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (array == null) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<K, V> ret = new SimpleImmutableEntry<>((K) array[offset], (V) array[offset + 1]);
+            offset += 2;
+            advance();
+            return ret;
+        }
+
+        // Position at the next mapping, descending into child nodes and returning from exhausted ones as needed
+        private void advance() {
+            while (true) {
+                if (offset < array.length) {
+                    if (array[offset] != null) {
+                        return;
+                    }
+                    parents.push(array);
+                    offsets.push(offset + 2);
+                    array = ((Node) array[offset + 1]).array;
+                    offset = 0;
+                } else if (parents.isEmpty()) {
+                    array = null;
+                    return;
+                } else {
+                    array = parents.pop();
+                    offset = offsets.pop();
+                }
+            }
+        }
+    }
+
+    private final @NonNull Node root;
+    private final int size;
+
+    private PersistentHashMap(final Node root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> @NonNull PersistentHashMap<K, V> of() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> @NonNull PersistentHashMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+
+        PersistentHashMap<K, V> ret = of();
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            ret = ret.plus(entry.getKey(), entry.getValue());
+        }
+        return ret;
+    }
+
+    /**
+     * Return a map with the specified mapping added to this map.
+     *
+     * @param key key
+     * @param value value
+     * @return A new map, or this map if it already contains the mapping
+     * @throws NullPointerException if any of the arguments is null
+     */
+    @NonNull PersistentHashMap<K, V> plus(final K key, final V value) {
+        final int hash = hash(key);
+        final boolean present = root.get(key, hash, 0) != null;
+        final Node newRoot = root.put(key, requireNonNull(value), hash, 0);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, present ? size : size + 1);
+    }
+
+    /**
+     * Return a map with the specified key removed from this map.
+     *
+     * @param key key
+     * @return A new map, or this map if it does not contain the key
+     */
+    @NonNull PersistentHashMap<K, V> minus(final Object key) {
+        if (key == null) {
+            return this;
+        }
+
+        final Node newRoot = root.remove(key, hash(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? of() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.get(key, hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private static int hash(final Object key) {
+        // Spread higher bits, as most of our keys are hashed by combining hashes of their components
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -9,26 +9,71 @@ package org.opendaylight.mdsal.dom.broker;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 
 final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntry {
+    // Routing context leaf, if it is an immediate child of RPC input, which is always the case for YANG-defined RPCs
+    private final @Nullable NodeIdentifier contextLeaf;
 
-    private RoutedDOMRpcRoutingTableEntry(final DOMRpcIdentifier routedRpcId,
+    private RoutedDOMRpcRoutingTableEntry(final DOMRpcIdentifier routedRpcId, final NodeIdentifier contextLeaf,
             final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
         super(routedRpcId, impls);
+        this.contextLeaf = contextLeaf;
     }
 
     RoutedDOMRpcRoutingTableEntry(final RpcDefinition def, final YangInstanceIdentifier keyId,
             final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
-        super(DOMRpcIdentifier.create(def.getPath(), keyId), impls);
+        this(DOMRpcIdentifier.create(def.getPath(), keyId), contextLeaf(keyId), impls);
     }
 
     @Override
     protected RoutedDOMRpcRoutingTableEntry newInstance(final Map<YangInstanceIdentifier,
             List<DOMRpcImplementation>> impls) {
-        return new RoutedDOMRpcRoutingTableEntry(getRpcId(), impls);
+        return new RoutedDOMRpcRoutingTableEntry(getRpcId(), contextLeaf, impls);
+    }
+
+    /**
+     * Extract the value of routing context from RPC input. If the context leaf is an immediate child of the input,
+     * this is a single child lookup, which allows lazily-serialized inputs to supply a pre-computed context without
+     * being serialized. Otherwise we fall back to a generic path lookup.
+     *
+     * @param input RPC input, may be null
+     * @return Value of the routing context leaf, or null if it is not present
+     */
+    @Nullable Object routingContext(final @Nullable NormalizedNode<?, ?> input) {
+        if (input == null) {
+            return null;
+        }
+
+        final Optional<? extends NormalizedNode<?, ?>> context;
+        if (contextLeaf != null) {
+            if (!(input instanceof DataContainerNode)) {
+                return null;
+            }
+            context = ((DataContainerNode<?>) input).getChild(contextLeaf);
+        } else {
+            context = NormalizedNodes.findNode(input, getRpcId().getContextReference());
+        }
+        return context.isPresent() ? context.get().getValue() : null;
+    }
+
+    private static @Nullable NodeIdentifier contextLeaf(final YangInstanceIdentifier keyId) {
+        if (keyId.getPathArguments().size() == 1) {
+            final PathArgument arg = keyId.getLastPathArgument();
+            if (arg instanceof NodeIdentifier) {
+                return (NodeIdentifier) arg;
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Implementations of {@link DOMRpcSelectionStrategy}s available through its static factory methods.
+ */
+final class RpcSelectionStrategies {
+    static final DOMRpcSelectionStrategy LOWEST_COST = (impls, rpc, input) -> impls.get(0).invokeRpc(rpc, input);
+
+    static final class RoundRobin implements DOMRpcSelectionStrategy {
+        // Keyed by identity of implementation lists, which are replaced whenever the implementations of an RPC change.
+        // This gives us a counter per RPC, which is forgotten once it becomes stale.
+        private final ConcurrentMap<List<DOMRpcImplementation>, AtomicInteger> counters =
+                new MapMaker().weakKeys().makeMap();
+
+        @Override
+        public ListenableFuture<DOMRpcResult> invokeRpc(final List<DOMRpcImplementation> implementations,
+                final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+            final AtomicInteger counter = counters.computeIfAbsent(implementations, key -> new AtomicInteger());
+            return implementations.get(Math.floorMod(counter.getAndIncrement(), implementations.size()))
+                .invokeRpc(rpc, input);
+        }
+    }
+
+    /**
+     * Base class for strategies which select an implementation based on statistics of its past invocations.
+     */
+    abstract static class Tracking implements DOMRpcSelectionStrategy {
+        private final ConcurrentMap<DOMRpcImplementation, InvocationStats> stats = new MapMaker().weakKeys().makeMap();
+
+        @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        public final ListenableFuture<DOMRpcResult> invokeRpc(final List<DOMRpcImplementation> implementations,
+                final DOMRpcIdentifier rpc, final NormalizedNode<?, ?> input) {
+            final InvocationStats[] implStats = new InvocationStats[implementations.size()];
+            for (int i = 0; i < implStats.length; ++i) {
+                implStats[i] = stats(implementations.get(i));
+            }
+
+            final int selected = select(implStats);
+            final InvocationStats invocationStats = implStats[selected];
+            final long start = invocationStats.started();
+            final ListenableFuture<DOMRpcResult> future;
+            try {
+                future = implementations.get(selected).invokeRpc(rpc, input);
+            } catch (RuntimeException e) {
+                invocationStats.aborted();
+                throw e;
+            }
+
+            future.addListener(() -> invocationStats.completed(start), MoreExecutors.directExecutor());
+            return future;
+        }
+
+        private InvocationStats stats(final DOMRpcImplementation impl) {
+            return stats.computeIfAbsent(impl, key -> new InvocationStats());
+        }
+
+        /**
+         * Select an implementation based on its statistics.
+         *
+         * @param implStats Statistics of implementations, in the order of their cost
+         * @return Index of the selected implementation
+         */
+        abstract int select(InvocationStats[] implStats);
+
+        // Implementations are ordered by cost, hence ties are resolved in favor of the cheaper one
+        static int indexOfMin(final long[] scores) {
+            int ret = 0;
+            for (int i = 1; i < scores.length; ++i) {
+                if (scores[i] < scores[ret]) {
+                    ret = i;
+                }
+            }
+            return ret;
+        }
+    }
+
+    static final class LeastOutstanding extends Tracking {
+        @Override
+        int select(final InvocationStats[] implStats) {
+            final long[] scores = new long[implStats.length];
+            for (int i = 0; i < scores.length; ++i) {
+                scores[i] = implStats[i].outstanding();
+            }
+            return indexOfMin(scores);
+        }
+    }
+
+    static final class LowestLatency extends Tracking {
+        @Override
+        int select(final InvocationStats[] implStats) {
+            final int[] pending = new int[implStats.length];
+            final long[] measured = new long[implStats.length];
+            long total = 0;
+            int count = 0;
+            for (int i = 0; i < implStats.length; ++i) {
+                pending[i] = implStats[i].outstanding();
+                measured[i] = implStats[i].latency();
+                if (measured[i] != 0) {
+                    total += measured[i];
+                    count++;
+                }
+            }
+
+            final long[] scores = new long[implStats.length];
+            if (count == 0) {
+                // No latency measurements at all, the best we can do is to spread the load
+                for (int i = 0; i < scores.length; ++i) {
+                    scores[i] = pending[i];
+                }
+                return indexOfMin(scores);
+            }
+
+            // An implementation which has not completed any invocation yet is tried as long as it is idle, so that
+            // its latency gets measured. While it is busy, we assume it is as fast as its peers are on average.
+            final long average = total / count;
+            for (int i = 0; i < scores.length; ++i) {
+                if (measured[i] != 0) {
+                    scores[i] = measured[i] * (pending[i] + 1);
+                } else if (pending[i] != 0) {
+                    scores[i] = average * (pending[i] + 1);
+                }
+            }
+            return indexOfMin(scores);
+        }
+    }
+
+    static final class InvocationStats {
+        // Weight of a new sample in the moving average of latency is 1/8, same as TCP's smoothed round-trip time
+        private static final int LATENCY_SHIFT = 3;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // Smoothed latency in nanoseconds, 0 if no invocation has completed yet
+        private final AtomicLong latency = new AtomicLong();
+
+        long started() {
+            outstanding.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void aborted() {
+            outstanding.decrementAndGet();
+        }
+
+        void completed(final long start) {
+            outstanding.decrementAndGet();
+            final long sample = Math.max(System.nanoTime() - start, 1);
+            latency.accumulateAndGet(sample,
+                (prev, next) -> prev == 0 ? next : prev + ((next - prev) >> LATENCY_SHIFT));
+        }
+
+        int outstanding() {
+            return outstanding.get();
+        }
+
+        long latency() {
+            return latency.get();
+        }
+    }
+
+    private RpcSelectionStrategies() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -9,19 +9,22 @@ package org.opendaylight.mdsal.dom.broker;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.base.Preconditions;
+import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.collect.ImmutableClassToInstanceMap;
 import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.RejectedExecutionException;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataBrokerCommitPressureService;
+import org.opendaylight.mdsal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
-import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,11 +42,17 @@ import org.slf4j.LoggerFactory;
  *
  *<p>
  * This executor does not have an upper bound on subtask timeout.
+ *
+ *<p>
+ * Optionally the number of outstanding commits can be bounded. In that case commits exceeding the capacity fail
+ * immediately and the broker exposes a {@link DOMDataBrokerCommitPressureService}, which allows producers to observe
+ * the commit queue crossing its high and low watermarks and throttle themselves before commits start failing.
  */
 public class SerializedDOMDataBroker extends AbstractDOMDataBroker {
     private static final Logger LOG = LoggerFactory.getLogger(SerializedDOMDataBroker.class);
-    private final DurationStatisticsTracker commitStatsTracker = DurationStatisticsTracker.createConcurrent();
     private final ListeningExecutorService executor;
+    private final CommitAdmissionControl admissionControl;
+    private final ClassToInstanceMap<DOMDataBrokerExtension> extensions;
 
     /**
      * Construct DOMDataCommitCoordinator which uses supplied executor to
@@ -56,26 +65,66 @@ public class SerializedDOMDataBroker extends AbstractDOMDataBroker {
             final ListeningExecutorService executor) {
         super(datastores);
         this.executor = requireNonNull(executor, "executor must not be null.");
+        this.admissionControl = null;
+        this.extensions = super.getExtensions();
+    }
+
+    /**
+     * Construct DOMDataCommitCoordinator which uses supplied executor to process commit coordinations and bounds
+     * the number of outstanding commits.
+     *
+     * @param datastores the Map of backing DOMStore instances
+     * @param executor the ListeningExecutorService to use
+     * @param capacity maximum number of outstanding commits
+     * @param highWatermark number of outstanding commits at which commit pressure becomes high
+     * @param lowWatermark number of outstanding commits at which commit pressure returns to normal
+     * @throws IllegalArgumentException if {@code 0 <= lowWatermark < highWatermark <= capacity} does not hold
+     */
+    public SerializedDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
+            final ListeningExecutorService executor, final int capacity, final int highWatermark,
+            final int lowWatermark) {
+        super(datastores);
+        this.executor = requireNonNull(executor, "executor must not be null.");
+        this.admissionControl = new CommitAdmissionControl(capacity, highWatermark, lowWatermark);
+        this.extensions = ImmutableClassToInstanceMap.<DOMDataBrokerExtension>builder()
+            .putAll(super.getExtensions())
+            .put(DOMDataBrokerCommitPressureService.class, admissionControl)
+            .build();
     }
 
-    public DurationStatisticsTracker getCommitStatsTracker() {
-        return commitStatsTracker;
+    @Override
+    public ClassToInstanceMap<DOMDataBrokerExtension> getExtensions() {
+        return extensions;
     }
 
     @Override
     protected FluentFuture<? extends CommitInfo> commit(final DOMDataTreeWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
-        Preconditions.checkArgument(transaction != null, "Transaction must not be null.");
-        Preconditions.checkArgument(cohorts != null, "Cohorts must not be null.");
+        checkCommitArguments(transaction, cohorts);
         LOG.debug("Tx: {} is submitted for execution.", transaction.getIdentifier());
 
+        if (admissionControl != null && !admissionControl.tryAcquire()) {
+            LOG.debug("Tx: {} rejected, the number of outstanding commits is at capacity", transaction.getIdentifier());
+            return FluentFutures.immediateFailedFluentFuture(new TransactionCommitFailedException(
+                "Could not submit the commit task - the commit queue capacity has been exceeded."));
+        }
+
+        final FluentFuture<CommitInfo> ret;
         try {
-            return FluentFuture.from(executor.submit(
-                new CommitCoordinationTask(transaction, cohorts, commitStatsTracker)));
+            ret = FluentFuture.from(executor.submit(new CommitCoordinationTask(transaction, cohorts,
+                getCommitStatsTracker(), getCommitLatencyStatistics())));
         } catch (RejectedExecutionException e) {
             LOG.error("The commit executor's queue is full - submit task was rejected. \n{}", executor, e);
+            if (admissionControl != null) {
+                admissionControl.release();
+            }
             return FluentFutures.immediateFailedFluentFuture(new TransactionCommitFailedException(
                 "Could not submit the commit task - the commit queue capacity has been exceeded.", e));
         }
+
+        if (admissionControl != null) {
+            ret.addListener(admissionControl::release, MoreExecutors.directExecutor());
+        }
+        return ret;
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.CommitLatencyStatistics.CommitPhase;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+
+public class AsyncCommitCoordinationTaskTest {
+
+    private final DOMStoreThreePhaseCommitCohort cohort = mock(DOMStoreThreePhaseCommitCohort.class);
+    private AsyncCommitCoordinationTask task;
+
+    @Before
+    public void setUp() throws Exception {
+        final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
+        task = new AsyncCommitCoordinationTask(tx, ImmutableList.of(cohort), null);
+        doReturn("test").when(tx).getIdentifier();
+    }
+
+    @Test
+    public void commitSuccess() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).commit();
+
+        assertSame(CommitInfo.empty(), task.start().get());
+        verify(cohort, never()).abort();
+    }
+
+    @Test
+    public void commitDoesNotBlock() throws Exception {
+        final SettableFuture<Boolean> canCommit = SettableFuture.create();
+        doReturn(canCommit).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).commit();
+
+        final FluentFuture<CommitInfo> future = task.start();
+        assertFalse(future.isDone());
+        verify(cohort, never()).preCommit();
+
+        canCommit.set(Boolean.TRUE);
+        assertTrue(future.isDone());
+        assertSame(CommitInfo.empty(), future.get());
+    }
+
+    @Test
+    public void canCommitWithFail() throws Exception {
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doReturn(FluentFutures.immediateFalseFluentFuture()).when(cohort).canCommit();
+        assertCommitFailed();
+        verify(cohort, never()).preCommit();
+    }
+
+    @Test
+    public void canCommitWithFailException() throws Exception {
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).canCommit();
+        assertCommitFailed();
+    }
+
+    @Test
+    public void preCommitWithFail() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).preCommit();
+        assertCommitFailed();
+        verify(cohort, never()).commit();
+    }
+
+    @Test
+    public void commitWithFail() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doReturn(Futures.immediateFailedFuture(new InterruptedException())).when(cohort).commit();
+        assertCommitFailed();
+    }
+
+    @Test
+    public void preCommitThrows() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doThrow(new IllegalStateException("preCommit")).when(cohort).preCommit();
+        assertCommitFailed();
+        verify(cohort, never()).commit();
+    }
+
+    @Test
+    public void commitThrows() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
+
+        doThrow(new IllegalStateException("commit")).when(cohort).commit();
+        assertCommitFailed();
+    }
+
+    @Test
+    public void abortThrows() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doThrow(new IllegalStateException("preCommit")).when(cohort).preCommit();
+        doThrow(new IllegalStateException("abort")).when(cohort).abort();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> task.start().get());
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+        assertTrue(ex.getCause().getSuppressed()[0] instanceof TransactionCommitFailedException);
+    }
+
+    @Test
+    public void commitStatistics() throws Exception {
+        doReturn(FluentFutures.immediateTrueFluentFuture()).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).commit();
+
+        final DurationStatisticsTracker tracker = DurationStatisticsTracker.createConcurrent();
+        final CommitLatencyStatistics stats = new CommitLatencyStatistics(List.of(LogicalDatastoreType.OPERATIONAL));
+        final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
+        doReturn("stats").when(tx).getIdentifier();
+
+        new AsyncCommitCoordinationTask(tx, ImmutableList.of(cohort), tracker, stats).start().get();
+        assertEquals(1, tracker.getTotalDurations());
+        assertEquals(1, stats.getCommitHistogram(1).getCount());
+        for (CommitPhase phase : CommitPhase.values()) {
+            assertEquals(1, stats.getPhaseHistogram(phase).getCount());
+        }
+        assertEquals(1, stats.getPhaseHistogram(LogicalDatastoreType.OPERATIONAL, CommitPhase.DO_COMMIT).getCount());
+    }
+
+    private void assertCommitFailed() {
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> task.start().get());
+        assertTrue(ex.getCause() instanceof TransactionCommitFailedException);
+        verify(cohort).abort();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMCommitPressure;
+import org.opendaylight.mdsal.dom.api.DOMCommitPressureListener;
+import org.opendaylight.mdsal.dom.api.DOMDataBrokerCommitPressureService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.util.TestModel;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStore;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CommitAdmissionControlTest extends AbstractDatastoreTest {
+    @Test
+    public void testInvalidWatermarks() {
+        assertThrows(IllegalArgumentException.class, () -> new CommitAdmissionControl(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CommitAdmissionControl(2, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CommitAdmissionControl(4, 2, 2));
+    }
+
+    @Test
+    public void testPressureTransitions() {
+        final CommitAdmissionControl control = new CommitAdmissionControl(4, 3, 1);
+        final DOMCommitPressureListener listener = mock(DOMCommitPressureListener.class);
+        doNothing().when(listener).onCommitPressureChanged(any());
+        final ListenerRegistration<?> reg = control.registerCommitPressureListener(listener);
+
+        assertTrue(control.tryAcquire());
+        assertTrue(control.tryAcquire());
+        assertEquals(DOMCommitPressure.NORMAL, control.getCommitPressure());
+        assertTrue(control.tryAcquire());
+        assertEquals(DOMCommitPressure.HIGH, control.getCommitPressure());
+        assertTrue(control.tryAcquire());
+        assertEquals(DOMCommitPressure.SATURATED, control.getCommitPressure());
+        assertFalse(control.tryAcquire());
+        assertEquals(4, control.outstanding());
+
+        control.release();
+        assertEquals(DOMCommitPressure.HIGH, control.getCommitPressure());
+        control.release();
+        // Hysteresis: we need to drop to the low watermark before pressure returns to normal
+        assertEquals(DOMCommitPressure.HIGH, control.getCommitPressure());
+        control.release();
+        assertEquals(DOMCommitPressure.NORMAL, control.getCommitPressure());
+
+        final InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onCommitPressureChanged(DOMCommitPressure.HIGH);
+        inOrder.verify(listener).onCommitPressureChanged(DOMCommitPressure.SATURATED);
+        inOrder.verify(listener).onCommitPressureChanged(DOMCommitPressure.HIGH);
+        inOrder.verify(listener).onCommitPressureChanged(DOMCommitPressure.NORMAL);
+
+        reg.close();
+        assertTrue(control.tryAcquire());
+        assertTrue(control.tryAcquire());
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test(timeout = 30000)
+    public void testConcurrentRelease() throws Exception {
+        final CommitAdmissionControl control = new CommitAdmissionControl(8, 2, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; ++j) {
+                        assertTrue(control.tryAcquire());
+                        control.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Pressure must not get stuck once all commits have completed, no matter how transitions interleaved
+        assertEquals(0, control.outstanding());
+        assertEquals(DOMCommitPressure.NORMAL, control.getCommitPressure());
+    }
+
+    @Test(timeout = 10000)
+    public void testBoundedBroker() throws Exception {
+        final InMemoryDOMDataStore operStore = new InMemoryDOMDataStore("OPER",
+            MoreExecutors.newDirectExecutorService());
+        operStore.onModelContextUpdated(SCHEMA_CONTEXT);
+
+        final ListeningExecutorService executor = MoreExecutors.listeningDecorator(
+            Executors.newSingleThreadExecutor());
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            final SerializedDOMDataBroker broker = new SerializedDOMDataBroker(
+                ImmutableMap.of(LogicalDatastoreType.OPERATIONAL, operStore), executor, 1, 1, 0);
+            final DOMDataBrokerCommitPressureService service =
+                broker.getExtensions().getInstance(DOMDataBrokerCommitPressureService.class);
+            assertNotNull(service);
+
+            final CountDownLatch normal = new CountDownLatch(1);
+            service.registerCommitPressureListener(pressure -> {
+                if (pressure == DOMCommitPressure.NORMAL) {
+                    normal.countDown();
+                }
+            });
+
+            final FluentFuture<? extends CommitInfo> first = writeTest(broker).commit();
+            assertEquals(DOMCommitPressure.SATURATED, service.getCommitPressure());
+
+            final ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> writeTest(broker).commit().get());
+            assertTrue(ex.getCause() instanceof TransactionCommitFailedException);
+
+            latch.countDown();
+            first.get();
+            normal.await();
+            assertEquals(DOMCommitPressure.NORMAL, service.getCommitPressure());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnboundedBroker() {
+        final SerializedDOMDataBroker broker = new SerializedDOMDataBroker(
+            ImmutableMap.of(LogicalDatastoreType.OPERATIONAL, new InMemoryDOMDataStore("OPER",
+                MoreExecutors.newDirectExecutorService())), MoreExecutors.newDirectExecutorService());
+        assertNull(broker.getExtensions().getInstance(DOMDataBrokerCommitPressureService.class));
+    }
+
+    private static DOMDataTreeWriteTransaction writeTest(final SerializedDOMDataBroker broker) {
+        final DOMDataTreeWriteTransaction tx = broker.newWriteOnlyTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, TestModel.TEST_PATH,
+            ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        return tx;
+    }
+}
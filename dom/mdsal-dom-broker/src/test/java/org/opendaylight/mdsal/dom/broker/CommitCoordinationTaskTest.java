@@ -7,6 +7,8 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -14,23 +16,52 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.CommitLatencyStatistics.CommitPhase;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 
 public class CommitCoordinationTaskTest {
 
     private final DOMStoreThreePhaseCommitCohort cohort = mock(DOMStoreThreePhaseCommitCohort.class);
+    private final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
     private CommitCoordinationTask task;
 
     @Before
     public void setUp() throws Exception {
-        final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
         task = new CommitCoordinationTask(tx, ImmutableList.of(cohort), null);
         doReturn("test").when(tx).getIdentifier();
     }
 
+    @Test
+    public void commitLatencyStatistics() throws Exception {
+        final DOMStoreThreePhaseCommitCohort operCohort = mock(DOMStoreThreePhaseCommitCohort.class);
+        for (DOMStoreThreePhaseCommitCohort mock : ImmutableList.of(cohort, operCohort)) {
+            doReturn(FluentFutures.immediateTrueFluentFuture()).when(mock).canCommit();
+            doReturn(FluentFutures.immediateNullFluentFuture()).when(mock).preCommit();
+            doReturn(FluentFutures.immediateNullFluentFuture()).when(mock).commit();
+        }
+
+        final CommitLatencyStatistics stats = new CommitLatencyStatistics(
+            ImmutableList.of(LogicalDatastoreType.CONFIGURATION, LogicalDatastoreType.OPERATIONAL));
+        new CommitCoordinationTask(tx, ImmutableList.of(cohort, operCohort), null, stats).call();
+
+        for (CommitPhase phase : CommitPhase.values()) {
+            assertEquals(1, stats.getPhaseHistogram(phase).getCount());
+            if (phase != CommitPhase.QUEUE) {
+                assertEquals(1, stats.getPhaseHistogram(LogicalDatastoreType.CONFIGURATION, phase).getCount());
+                assertEquals(1, stats.getPhaseHistogram(LogicalDatastoreType.OPERATIONAL, phase).getCount());
+            }
+        }
+        assertEquals(0, stats.getCommitHistogram(1).getCount());
+        assertEquals(1, stats.getCommitHistogram(2).getCount());
+        assertThrows(IllegalArgumentException.class, () -> stats.getCommitHistogram(3));
+        assertThrows(IllegalArgumentException.class,
+            () -> stats.getPhaseHistogram(LogicalDatastoreType.OPERATIONAL, CommitPhase.QUEUE));
+    }
+
     @Test(expected = TransactionCommitFailedException.class)
     public void canCommitBlockingWithFail() throws Exception {
         doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).abort();
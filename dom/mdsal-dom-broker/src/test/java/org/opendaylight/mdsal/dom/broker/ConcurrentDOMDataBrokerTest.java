@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.mdsal.common.api.LogicalDatastoreType.CONFIGURATION;
+import static org.opendaylight.mdsal.common.api.LogicalDatastoreType.OPERATIONAL;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.CommitLatencyStatistics.CommitPhase;
+import org.opendaylight.mdsal.dom.broker.util.TestModel;
+import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStore;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ConcurrentDOMDataBrokerTest extends AbstractDatastoreTest {
+    @Test
+    public void testCommitsAreSerialized() throws Exception {
+        final ConcurrentDOMDataBroker broker = new ConcurrentDOMDataBroker(
+            ImmutableMap.of(OPERATIONAL, mock(DOMStore.class)));
+
+        final SettableFuture<Boolean> firstCanCommit = SettableFuture.create();
+        final DOMStoreThreePhaseCommitCohort first = mockCohort(firstCanCommit);
+        final DOMStoreThreePhaseCommitCohort second = mockCohort(FluentFutures.immediateTrueFluentFuture());
+
+        final FluentFuture<? extends CommitInfo> firstFuture = broker.commit(mockTransaction(),
+            ImmutableList.of(first));
+        final FluentFuture<? extends CommitInfo> secondFuture = broker.commit(mockTransaction(),
+            ImmutableList.of(second));
+        assertFalse(firstFuture.isDone());
+        assertFalse(secondFuture.isDone());
+        verify(second, never()).canCommit();
+
+        // Second commit is started once the first one completes
+        firstCanCommit.set(Boolean.TRUE);
+        assertSame(CommitInfo.empty(), firstFuture.get());
+        assertSame(CommitInfo.empty(), secondFuture.get());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentInMemoryCommits() throws Exception {
+        final InMemoryDOMDataStore operStore = new InMemoryDOMDataStore("OPER",
+            MoreExecutors.newDirectExecutorService());
+        final InMemoryDOMDataStore configStore = new InMemoryDOMDataStore("CFG",
+            MoreExecutors.newDirectExecutorService());
+        operStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        configStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final ConcurrentDOMDataBroker broker = new ConcurrentDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, configStore, OPERATIONAL, operStore));
+
+        final DOMDataTreeWriteTransaction init = broker.newWriteOnlyTransaction();
+        init.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        init.put(OPERATIONAL, TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .build());
+        init.commit().get();
+
+        // Commits submitted from multiple threads must not interleave in the store
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<CommitInfo>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; ++i) {
+                final int id = i;
+                futures.add(executor.submit((Callable<CommitInfo>) () -> {
+                    final DOMDataTreeWriteTransaction tx = broker.newWriteOnlyTransaction();
+                    tx.put(OPERATIONAL, TestModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)),
+                        ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+                    return tx.commit().get();
+                }));
+            }
+            for (Future<CommitInfo> future : futures) {
+                assertSame(CommitInfo.empty(), future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(101, broker.getCommitLatencyStatistics().getPhaseHistogram(CommitPhase.DO_COMMIT).getCount());
+    }
+
+    private static DOMDataTreeWriteTransaction mockTransaction() {
+        final DOMDataTreeWriteTransaction tx = mock(DOMDataTreeWriteTransaction.class);
+        doReturn("tx").when(tx).getIdentifier();
+        return tx;
+    }
+
+    private static DOMStoreThreePhaseCommitCohort mockCohort(final Object canCommit) {
+        final DOMStoreThreePhaseCommitCohort cohort = mock(DOMStoreThreePhaseCommitCohort.class);
+        doReturn(canCommit).when(cohort).canCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).preCommit();
+        doReturn(FluentFutures.immediateNullFluentFuture()).when(cohort).commit();
+        return cohort;
+    }
+}
@@ -12,21 +12,34 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.withSettings;
 
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMEvent;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationListener;
 import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
@@ -92,6 +105,385 @@ public class DOMNotificationRouterTest extends TestUtils {
         assertNotNull(domNotificationRouter.putNotification(domNotification));
     }
 
+    @Test
+    public void registrationTest() throws Exception {
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(16)) {
+            final DOMNotificationListener first = mock(DOMNotificationListener.class);
+            final DOMNotificationListener second = mock(DOMNotificationListener.class);
+            final DOMNotificationSubscriptionListener subscription = mock(DOMNotificationSubscriptionListener.class);
+            doNothing().when(subscription).onSubscriptionChanged(any());
+            router.registerSubscriptionListener(subscription);
+
+            final ListenerRegistration<?> firstReg = router.registerNotificationListener(first, SchemaPath.ROOT,
+                SchemaPath.SAME);
+            final ListenerRegistration<?> secondReg = router.registerNotificationListener(second, SchemaPath.ROOT);
+            assertEquals(3, router.listeners().size());
+            assertEquals(2, router.listeners().get(SchemaPath.ROOT).size());
+            assertEquals(1, router.listeners().get(SchemaPath.SAME).size());
+
+            // Removing a registration affects only its types
+            firstReg.close();
+            assertEquals(1, router.listeners().size());
+            assertEquals(List.of(secondReg), List.copyOf(router.listeners().get(SchemaPath.ROOT)));
+            assertFalse(router.listeners().containsKey(SchemaPath.SAME));
+
+            secondReg.close();
+            assertTrue(router.listeners().isEmpty());
+
+            // Subscription listeners are notified only when the set of subscribed types changes
+            verify(subscription, timeout(1000).times(2)).onSubscriptionChanged(Set.of());
+            verify(subscription, timeout(1000)).onSubscriptionChanged(Set.of(SchemaPath.ROOT, SchemaPath.SAME));
+            verify(subscription, timeout(1000)).onSubscriptionChanged(Set.of(SchemaPath.ROOT));
+            verifyNoMoreInteractions(subscription);
+        }
+    }
+
+    @Test
+    public void laneDispatchTest() throws Exception {
+        final DOMNotification domNotification = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(domNotification).getType();
+
+        final CountDownLatch slowEntered = new CountDownLatch(1);
+        final CountDownLatch slowRelease = new CountDownLatch(1);
+        final CountDownLatch slowLatch = new CountDownLatch(3);
+        final DOMNotificationListener slow = notification -> {
+            slowEntered.countDown();
+            try {
+                slowRelease.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            slowLatch.countDown();
+        };
+        final CountDownLatch fastLatch = new CountDownLatch(3);
+        final DOMNotificationListener fast = notification -> fastLatch.countDown();
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(16, 2)) {
+            router.registerNotificationListener(slow, SchemaPath.ROOT);
+            router.registerNotificationListener(fast, SchemaPath.ROOT);
+
+            final ListenableFuture<?> first = router.putNotification(domNotification);
+            router.putNotification(domNotification);
+            router.putNotification(domNotification);
+
+            // The fast listener makes progress while the slow one is blocked
+            assertTrue(slowEntered.await(5, TimeUnit.SECONDS));
+            assertTrue(fastLatch.await(5, TimeUnit.SECONDS));
+            assertFalse(first.isDone());
+
+            slowRelease.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertTrue(slowLatch.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void laneCapacityTest() throws Exception {
+        final DOMNotification domNotification = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(domNotification).getType();
+
+        final CountDownLatch slowEntered = new CountDownLatch(1);
+        final CountDownLatch slowRelease = new CountDownLatch(1);
+        final DOMNotificationListener slow = notification -> {
+            slowEntered.countDown();
+            try {
+                slowRelease.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(4, 2)) {
+            router.registerNotificationListener(slow, SchemaPath.ROOT);
+
+            // The queue is drained as notifications are handed over to the lane, but the lane takes only four
+            final List<ListenableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(router.putNotification(domNotification));
+            }
+            assertTrue(slowEntered.await(5, TimeUnit.SECONDS));
+            assertEquals(DOMNotificationPublishService.REJECTED, router.offerNotification(domNotification));
+            assertEquals(DOMNotificationPublishService.REJECTED, router.offerNotification(domNotification, 10,
+                TimeUnit.MILLISECONDS));
+            assertEquals(2, router.getStatistics().getRejectedCount(SchemaPath.ROOT));
+
+            // Once the listener catches up, notifications are accepted again
+            slowRelease.countDown();
+            for (ListenableFuture<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            router.offerNotification(domNotification, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void publishNotificationTest() throws Exception {
+        final DOMNotification domNotification = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(domNotification).getType();
+        final DOMNotification unobserved = mock(DOMNotification.class);
+        doReturn(SchemaPath.SAME).when(unobserved).getType();
+
+        for (int laneThreads : new int[] { 0, 2 }) {
+            final CountDownLatch latch = new CountDownLatch(8);
+            final TestListener testListener = new TestListener(latch);
+
+            try (DOMNotificationRouter router = DOMNotificationRouter.create(4, laneThreads)) {
+                router.registerNotificationListener(testListener, SchemaPath.ROOT);
+                for (int i = 0; i < 8; ++i) {
+                    router.publishNotification(domNotification);
+                    router.publishNotification(unobserved);
+                }
+
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+                assertEquals(8, testListener.getReceivedNotifications().size());
+            }
+        }
+    }
+
+    @Test
+    public void putNotificationsTest() throws Exception {
+        final List<DOMNotification> notifications = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            final DOMNotification domNotification = mock(DOMNotification.class);
+            doReturn(i % 2 == 0 ? SchemaPath.ROOT : SchemaPath.SAME).when(domNotification).getType();
+            notifications.add(domNotification);
+        }
+
+        final CountDownLatch latch = new CountDownLatch(5);
+        final TestListener testListener = new TestListener(latch);
+
+        // Batch larger than the ring buffer, with half of the notifications not having any subscribers
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(4)) {
+            router.registerNotificationListener(testListener, SchemaPath.ROOT);
+            router.putNotifications(notifications).get(5, TimeUnit.SECONDS);
+
+            // The batch future completes only once every notification has been delivered
+            assertEquals(0, latch.getCount());
+            assertEquals(List.of(notifications.get(0), notifications.get(2), notifications.get(4),
+                notifications.get(6), notifications.get(8)), testListener.getReceivedNotifications());
+        }
+    }
+
+    @Test
+    public void priorityClassTest() throws Exception {
+        final DOMNotification bulk = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(bulk).getType();
+        final DOMNotification alarm = mock(DOMNotification.class);
+        doReturn(SchemaPath.SAME).when(alarm).getType();
+
+        final CountDownLatch bulkEntered = new CountDownLatch(1);
+        final CountDownLatch bulkRelease = new CountDownLatch(1);
+        final DOMNotificationListener bulkListener = notification -> {
+            bulkEntered.countDown();
+            try {
+                bulkRelease.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        final CountDownLatch alarmLatch = new CountDownLatch(1);
+        final TestListener alarmListener = new TestListener(alarmLatch);
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(4, 0, List.of(
+                DOMNotificationPriorityClass.builder("alarms").addType(SchemaPath.SAME).setQueueDepth(4).build()))) {
+            router.registerNotificationListener(bulkListener, SchemaPath.ROOT);
+            router.registerNotificationListener(alarmListener, SchemaPath.SAME);
+
+            // Fill up the default queue while its listener is stuck
+            router.putNotification(bulk);
+            assertTrue(bulkEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; ++i) {
+                router.putNotification(bulk);
+            }
+            assertEquals(DOMNotificationPublishService.REJECTED, router.offerNotification(bulk));
+
+            // Alarms are still delivered
+            router.putNotification(alarm).get(5, TimeUnit.SECONDS);
+            assertTrue(alarmLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(alarm), alarmListener.getReceivedNotifications());
+
+            bulkRelease.countDown();
+        }
+    }
+
+    @Test
+    public void priorityClassListenerSerializedTest() throws Exception {
+        final DOMNotification bulk = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(bulk).getType();
+        final DOMNotification alarm = mock(DOMNotification.class);
+        doReturn(SchemaPath.SAME).when(alarm).getType();
+
+        final CountDownLatch bulkEntered = new CountDownLatch(1);
+        final CountDownLatch bulkRelease = new CountDownLatch(1);
+        final List<DOMNotification> received = Collections.synchronizedList(new ArrayList<>());
+        final DOMNotificationListener listener = notification -> {
+            if (notification == bulk) {
+                bulkEntered.countDown();
+                try {
+                    bulkRelease.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            received.add(notification);
+        };
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(4, 0, List.of(
+                DOMNotificationPriorityClass.builder("alarms").addType(SchemaPath.SAME).setQueueDepth(4).build()))) {
+            router.registerNotificationListener(listener, SchemaPath.ROOT, SchemaPath.SAME);
+
+            // The listener is subscribed to both classes, but it is not invoked concurrently
+            final ListenableFuture<?> bulkFuture = router.putNotification(bulk);
+            assertTrue(bulkEntered.await(5, TimeUnit.SECONDS));
+            final ListenableFuture<?> alarmFuture = router.putNotification(alarm);
+            assertThrows(TimeoutException.class, () -> alarmFuture.get(100, TimeUnit.MILLISECONDS));
+            assertEquals(List.of(), received);
+
+            bulkRelease.countDown();
+            bulkFuture.get(5, TimeUnit.SECONDS);
+            alarmFuture.get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(bulk, alarm), received);
+        }
+    }
+
+    @Test
+    public void priorityClassConflictTest() {
+        final DOMNotificationPriorityClass first = DOMNotificationPriorityClass.builder("first")
+            .addType(SchemaPath.SAME).build();
+        final DOMNotificationPriorityClass second = DOMNotificationPriorityClass.builder("second")
+            .addType(SchemaPath.SAME).build();
+        assertThrows(IllegalArgumentException.class, () -> DOMNotificationRouter.create(4, 0,
+            List.of(first, second)));
+    }
+
+    @Test
+    public void statisticsTest() throws Exception {
+        final DOMNotification domNotification = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(domNotification).getType();
+        final DOMNotificationListener listener = mock(DOMNotificationListener.class);
+
+        try (TestRouter router = new TestRouter(4)) {
+            final DOMNotificationRouterStatistics stats = router.getStatistics();
+            assertEquals(Set.of(DOMNotificationRouterStatistics.DEFAULT_QUEUE), stats.getQueueNames());
+            assertEquals(4, stats.getQueueDepth(DOMNotificationRouterStatistics.DEFAULT_QUEUE));
+            assertEquals(4, stats.getRemainingCapacity(DOMNotificationRouterStatistics.DEFAULT_QUEUE));
+            assertThrows(IllegalArgumentException.class, () -> stats.getRemainingCapacity("foo"));
+
+            final ListenerRegistration<?> reg = router.registerNotificationListener(listener, SchemaPath.ROOT,
+                SchemaPath.SAME);
+            router.putNotification(domNotification);
+            router.putNotification(domNotification).get(5, TimeUnit.SECONDS);
+            router.rejectFor(5, TimeUnit.SECONDS);
+            assertEquals(DOMNotificationPublishService.REJECTED, router.offerNotification(domNotification));
+
+            assertEquals(Set.of(SchemaPath.ROOT), stats.getNotificationTypes());
+            assertEquals(2, stats.getPublishedCount(SchemaPath.ROOT));
+            assertEquals(1, stats.getRejectedCount(SchemaPath.ROOT));
+            assertEquals(0, stats.getPublishedCount(SchemaPath.SAME));
+
+            final Map<ListenerRegistration<? extends DOMNotificationListener>, LatencyHistogram> latencies =
+                    stats.getListenerLatencies();
+            assertEquals(Set.of(reg), latencies.keySet());
+            assertEquals(2, latencies.get(reg).getCount());
+
+            stats.reset();
+            assertEquals(0, stats.getPublishedCount(SchemaPath.ROOT));
+            assertEquals(0, latencies.get(reg).getCount());
+
+            reg.close();
+            assertTrue(stats.getListenerLatencies().isEmpty());
+        }
+    }
+
+    @Test
+    public void keyedDispatchTest() throws Exception {
+        final DOMNotification slow = mock(DOMNotification.class);
+        final DOMNotification sameKey = mock(DOMNotification.class);
+        final DOMNotification otherKey = mock(DOMNotification.class);
+        doReturn(SchemaPath.ROOT).when(slow).getType();
+        doReturn(SchemaPath.ROOT).when(sameKey).getType();
+        doReturn(SchemaPath.ROOT).when(otherKey).getType();
+        // Integer keys hash to themselves, hence these are guaranteed to end up in different lanes
+        final Map<DOMNotification, Integer> keys = Map.of(slow, 0, sameKey, 0, otherKey, 1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch otherDelivered = new CountDownLatch(1);
+        final CountDownLatch sameDelivered = new CountDownLatch(1);
+        final List<DOMNotification> received = Collections.synchronizedList(new ArrayList<>());
+        final DOMNotificationListener listener = notification -> {
+            if (notification == slow) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            received.add(notification);
+            if (notification == otherKey) {
+                otherDelivered.countDown();
+            } else if (notification == sameKey) {
+                sameDelivered.countDown();
+            }
+        };
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(16, 2)) {
+            router.registerKeyedNotificationListener(listener, keys::get, List.of(SchemaPath.ROOT));
+            router.putNotification(slow);
+            router.putNotification(sameKey);
+            router.putNotification(otherKey);
+
+            // A slow notification does not hold up notifications with a different key ...
+            assertTrue(otherDelivered.await(5, TimeUnit.SECONDS));
+            // ... but it does hold up notifications with the same key
+            assertEquals(List.of(otherKey), List.copyOf(received));
+
+            release.countDown();
+            assertTrue(sameDelivered.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(otherKey, slow, sameKey), List.copyOf(received));
+        }
+    }
+
+    @Test
+    public void replayTest() throws Exception {
+        final Instant base = Instant.now();
+        final DOMNotification first = mockEvent(base);
+        final DOMNotification second = mockEvent(base.plusSeconds(1));
+        final DOMNotification third = mockEvent(base.plusSeconds(2));
+        final DOMNotification live = mockEvent(base.plusSeconds(3));
+
+        try (DOMNotificationRouter router = DOMNotificationRouter.create(16)) {
+            router.enableReplay(SchemaPath.ROOT, 2);
+            assertThrows(IllegalStateException.class, () -> router.enableReplay(SchemaPath.ROOT, 4));
+
+            // Notifications are retained even without subscribers, the oldest ones are evicted
+            router.putNotification(first);
+            router.putNotification(second);
+            router.putNotification(third);
+
+            final CountDownLatch lastLatch = new CountDownLatch(3);
+            final TestListener lastListener = new TestListener(lastLatch);
+            router.registerNotificationListener(lastListener, List.of(SchemaPath.ROOT), DOMNotificationReplay.last(5));
+            final CountDownLatch sinceLatch = new CountDownLatch(2);
+            final TestListener sinceListener = new TestListener(sinceLatch);
+            router.registerNotificationListener(sinceListener, List.of(SchemaPath.ROOT),
+                DOMNotificationReplay.since(base.plusSeconds(2)));
+
+            // Replayed notifications are delivered before live ones
+            router.putNotification(live);
+            assertTrue(lastLatch.await(5, TimeUnit.SECONDS));
+            assertTrue(sinceLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(second, third, live), lastListener.getReceivedNotifications());
+            assertEquals(List.of(third, live), sinceListener.getReceivedNotifications());
+        }
+    }
+
+    private static DOMNotification mockEvent(final Instant instant) {
+        final DOMNotification ret = mock(DOMNotification.class, withSettings().extraInterfaces(DOMEvent.class));
+        doReturn(SchemaPath.ROOT).when(ret).getType();
+        doReturn(instant).when((DOMEvent) ret).getEventInstant();
+        return ret;
+    }
+
     @Test
     public void offerNotification() throws Exception {
         final DOMNotificationRouter domNotificationRouter = DOMNotificationRouter.create(1);
@@ -116,14 +508,23 @@ public class DOMNotificationRouterTest extends TestUtils {
             assertNotNull(testRouter.registerNotificationListener(testListener, SchemaPath.ROOT));
             assertNotNull(testRouter.registerNotificationListener(testListener, SchemaPath.SAME));
 
+            // Capacity becomes available before the timeout expires
+            testRouter.rejectFor(500, TimeUnit.MILLISECONDS);
             assertNotEquals(DOMNotificationPublishService.REJECTED,
                 testRouter.offerNotification(domNotification, 3, TimeUnit.SECONDS));
             assertTrue("Listener was not notified", latch.await(5, TimeUnit.SECONDS));
             assertEquals("Received notifications", 1, testListener.getReceivedNotifications().size());
 
+            // Capacity does not become available before the timeout expires
+            testRouter.rejectFor(5, TimeUnit.SECONDS);
+            final long start = System.nanoTime();
             assertEquals(DOMNotificationPublishService.REJECTED,
                 testRouter.offerNotification(domNotification, 1, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
             assertEquals("Received notifications", 1, testListener.getReceivedNotifications().size());
+
+            // The publishing thread is never interrupted
+            assertFalse(Thread.currentThread().isInterrupted());
         }
     }
 
@@ -131,13 +532,10 @@ public class DOMNotificationRouterTest extends TestUtils {
     public void close() throws Exception {
         final DOMNotificationRouter domNotificationRouter = DOMNotificationRouter.create(1);
         final ExecutorService executor = domNotificationRouter.executor();
-        final ExecutorService observer = domNotificationRouter.observer();
 
         assertFalse(executor.isShutdown());
-        assertFalse(observer.isShutdown());
         domNotificationRouter.close();
         assertTrue(executor.isShutdown());
-        assertTrue(observer.isShutdown());
     }
 
     private static class TestListener implements DOMNotificationListener {
@@ -160,21 +558,21 @@ public class DOMNotificationRouterTest extends TestUtils {
     }
 
     private static class TestRouter extends DOMNotificationRouter {
+        private volatile long rejectUntil;
+
         TestRouter(final int queueDepth) {
             super(queueDepth, DEFAULT_STRATEGY);
         }
 
-        @Override
-        protected ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
-                final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
-            return DOMNotificationPublishService.REJECTED;
+        void rejectFor(final long duration, final TimeUnit unit) {
+            rejectUntil = System.nanoTime() + unit.toNanos(duration);
         }
 
         @Override
-        public ListenableFuture<? extends Object> putNotification(final DOMNotification notification)
-                throws InterruptedException {
-            Thread.sleep(2000);
-            return super.putNotification(notification);
+        protected ListenableFuture<? extends Object> tryPublish(final DOMNotification notification,
+                final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers) {
+            return System.nanoTime() - rejectUntil < 0 ? DOMNotificationPublishService.REJECTED
+                : super.tryPublish(notification, subscribers);
         }
     }
 }
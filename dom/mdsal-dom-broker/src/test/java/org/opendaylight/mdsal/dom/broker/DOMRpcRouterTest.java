@@ -7,18 +7,32 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.RejectedExecutionException;
 import org.junit.Test;
 import org.opendaylight.mdsal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcProviderService;
 import org.opendaylight.mdsal.dom.broker.util.TestModel;
+import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 public class DOMRpcRouterTest extends TestUtils {
@@ -41,6 +55,64 @@ public class DOMRpcRouterTest extends TestUtils {
         }
     }
 
+    @Test
+    public void registerRpcImplementations() {
+        try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
+            final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+            doReturn(true).when(listener).acceptsImplementation(any());
+            doNothing().when(listener).onRpcAvailable(any());
+            doNothing().when(listener).onRpcUnavailable(any());
+            rpcRouter.getRpcService().registerRpcListener(listener);
+
+            final DOMRpcIdentifier first = DOMRpcIdentifier.create(SchemaPath.ROOT, null);
+            final DOMRpcIdentifier second = DOMRpcIdentifier.create(SchemaPath.SAME, null);
+            final Registration reg = rpcRouter.getRpcProviderService().registerRpcImplementations(Map.of(
+                getTestRpcImplementation(), Set.of(first), getTestRpcImplementation(), Set.of(second)));
+            assertEquals(Set.of(SchemaPath.ROOT, SchemaPath.SAME), rpcRouter.routingTable().getOperations().keySet());
+
+            reg.close();
+            assertTrue(rpcRouter.routingTable().getOperations().isEmpty());
+
+            // Listener is notified only once for all the implementations, both when registering and unregistering
+            verify(listener, timeout(1000)).onRpcUnavailable(argThat(rpcs -> rpcs.size() == 2
+                && rpcs.containsAll(List.of(first, second))));
+            verify(listener).onRpcAvailable(argThat(rpcs -> rpcs.size() == 2
+                && rpcs.containsAll(List.of(first, second))));
+        }
+    }
+
+    @Test
+    public void availabilityChanges() {
+        try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
+            final DOMRpcImplementation ignored = getTestRpcImplementation();
+            final DOMRpcImplementation accepted = getTestRpcImplementation();
+            final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+            doReturn(false).when(listener).acceptsImplementation(ignored);
+            doReturn(true).when(listener).acceptsImplementation(accepted);
+            doNothing().when(listener).onRpcAvailable(any());
+            doNothing().when(listener).onRpcUnavailable(any());
+            rpcRouter.getRpcService().registerRpcListener(listener);
+
+            final DOMRpcIdentifier rpc = DOMRpcIdentifier.create(SchemaPath.ROOT, null);
+            final DOMRpcProviderService providers = rpcRouter.getRpcProviderService();
+            final Registration ignoredReg = providers.registerRpcImplementation(ignored, rpc);
+            final Registration acceptedReg = providers.registerRpcImplementation(accepted, rpc);
+            final Registration secondReg = providers.registerRpcImplementation(accepted,
+                DOMRpcIdentifier.create(SchemaPath.SAME, null));
+            secondReg.close();
+            ignoredReg.close();
+            acceptedReg.close();
+
+            // Only changes visible to the listener are reported, and only for the RPCs affected by each change
+            verify(listener, timeout(1000).times(2)).onRpcUnavailable(any());
+            verify(listener).onRpcUnavailable(List.of(DOMRpcIdentifier.create(SchemaPath.SAME, null)));
+            verify(listener).onRpcUnavailable(List.of(rpc));
+            verify(listener, times(2)).onRpcAvailable(any());
+            verify(listener).onRpcAvailable(List.of(rpc));
+            verify(listener).onRpcAvailable(List.of(DOMRpcIdentifier.create(SchemaPath.SAME, null)));
+        }
+    }
+
     @Test
     public void invokeRpc() {
         try (DOMRpcRouter rpcRouter = new DOMRpcRouter()) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcSelectionStrategyTest {
+    private static final DOMRpcIdentifier RPC = DOMRpcIdentifier.create(SchemaPath.ROOT);
+
+    private final List<SettableFuture<DOMRpcResult>> firstFutures = new ArrayList<>();
+    private final List<SettableFuture<DOMRpcResult>> secondFutures = new ArrayList<>();
+    private DOMRpcImplementation first;
+    private DOMRpcImplementation second;
+    private List<DOMRpcImplementation> impls;
+
+    @Before
+    public void before() {
+        first = mockImplementation(firstFutures);
+        second = mockImplementation(secondFutures);
+        impls = List.of(first, second);
+    }
+
+    @Test
+    public void testLowestCost() {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.lowestCost();
+        invoke(strategy, first);
+        invoke(strategy, first);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.roundRobin();
+        invoke(strategy, first);
+        invoke(strategy, second);
+        invoke(strategy, first);
+
+        // A new list of implementations starts from the beginning
+        final List<DOMRpcImplementation> reversed = List.of(second, first);
+        assertEquals(1, secondFutures.size());
+        strategy.invokeRpc(reversed, RPC, null);
+        assertEquals(2, secondFutures.size());
+    }
+
+    @Test
+    public void testLeastOutstanding() {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.leastOutstanding();
+        invoke(strategy, first);
+        invoke(strategy, second);
+        invoke(strategy, first);
+
+        // Completing invocations on second implementation makes it preferred
+        secondFutures.get(0).set(null);
+        invoke(strategy, second);
+        invoke(strategy, second);
+        invoke(strategy, first);
+    }
+
+    @Test
+    public void testLowestLatency() throws InterruptedException {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.lowestLatency();
+        // Unmeasured implementations are tried first
+        invoke(strategy, first);
+        invoke(strategy, second);
+
+        secondFutures.get(0).set(null);
+        TimeUnit.MILLISECONDS.sleep(50);
+        firstFutures.get(0).set(null);
+
+        // Second implementation is much faster, even when it is busy
+        invoke(strategy, second);
+        invoke(strategy, second);
+    }
+
+    @Test
+    public void testLowestLatencyStalledImplementation() {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.lowestLatency();
+        // First implementation never completes its invocation, hence its latency is never measured
+        invoke(strategy, first);
+        invoke(strategy, second);
+        secondFutures.get(0).set(null);
+
+        // Second implementation is preferred, as the first one is busy and assumed to be as fast as the second one
+        for (int i = 1; i < 4; ++i) {
+            invoke(strategy, second);
+            secondFutures.get(i).set(null);
+        }
+        assertEquals(1, firstFutures.size());
+    }
+
+    @Test
+    public void testLowestLatencyUnmeasured() {
+        final DOMRpcSelectionStrategy strategy = DOMRpcSelectionStrategy.lowestLatency();
+        // Without any measurements, invocations are spread by the number of outstanding invocations
+        invoke(strategy, first);
+        invoke(strategy, second);
+        invoke(strategy, first);
+        invoke(strategy, second);
+    }
+
+    private void invoke(final DOMRpcSelectionStrategy strategy, final DOMRpcImplementation expected) {
+        final List<SettableFuture<DOMRpcResult>> futures = expected == first ? firstFutures : secondFutures;
+        final ListenableFuture<DOMRpcResult> future = strategy.invokeRpc(impls, RPC, null);
+        assertSame(futures.get(futures.size() - 1), future);
+    }
+
+    private static DOMRpcImplementation mockImplementation(final List<SettableFuture<DOMRpcResult>> futures) {
+        final DOMRpcImplementation ret = mock(DOMRpcImplementation.class);
+        doAnswer(invocation -> {
+            final SettableFuture<DOMRpcResult> future = SettableFuture.create();
+            futures.add(future);
+            return future;
+        }).when(ret).invokeRpc(any(), any());
+        return ret;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.mdsal.common.api.LogicalDatastoreType.CONFIGURATION;
+import static org.opendaylight.mdsal.common.api.LogicalDatastoreType.OPERATIONAL;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.broker.util.TestModel;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStore;
+import org.opendaylight.mdsal.dom.store.inmemory.InMemoryDOMDataStoreConfigProperties;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class GroupCommitDOMDataBrokerTest extends AbstractDatastoreTest {
+    private ExecutorService executor;
+    private InMemoryDOMDataStore operStore;
+    private InMemoryDOMDataStore configStore;
+
+    @Before
+    public void setupStore() {
+        operStore = new InMemoryDOMDataStore("OPER", MoreExecutors.newDirectExecutorService());
+        configStore = new InMemoryDOMDataStore("CFG", MoreExecutors.newDirectExecutorService());
+        operStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        configStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void testBatchedCommits() throws Exception {
+        assertBatchedCommits(new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, configStore, OPERATIONAL, operStore), executor, 16, 1,
+            TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedBatchedCommits() throws Exception {
+        assertBatchedCommits(new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, pipelinedStore("CFG"), OPERATIONAL, pipelinedStore("OPER")), executor,
+            16, 1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedCommitDoesNotAffectBatch() throws Exception {
+        assertFailedCommitDoesNotAffectBatch(new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, configStore, OPERATIONAL, operStore), executor, 16, 0,
+            TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedFailedCommitDoesNotAffectBatch() throws Exception {
+        assertFailedCommitDoesNotAffectBatch(new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, pipelinedStore("CFG"), OPERATIONAL, pipelinedStore("OPER")), executor,
+            16, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testMixedBatchedCommits() throws Exception {
+        // Transactions touching the non-pipelined configuration store are interleaved with batched ones
+        final GroupCommitDOMDataBroker broker = new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, configStore, OPERATIONAL, pipelinedStore("OPER")), executor, 16, 1,
+            TimeUnit.MILLISECONDS);
+
+        final DOMDataTreeWriteTransaction first = broker.newWriteOnlyTransaction();
+        first.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        first.put(OPERATIONAL, TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .build());
+        first.put(CONFIGURATION, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        first.put(CONFIGURATION, TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .build());
+        first.commit().get();
+
+        final List<FluentFuture<? extends CommitInfo>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            final YangInstanceIdentifier entryPath = TestModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            final DOMDataTreeWriteTransaction tx = broker.newWriteOnlyTransaction();
+            tx.put(OPERATIONAL, entryPath, ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            if (i % 5 == 0) {
+                tx.put(CONFIGURATION, entryPath,
+                    ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            }
+            futures.add(tx.commit());
+        }
+
+        for (FluentFuture<? extends CommitInfo> future : futures) {
+            assertSame(CommitInfo.empty(), future.get());
+        }
+        for (int i = 0; i < 20; ++i) {
+            final YangInstanceIdentifier entryPath = TestModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            assertTrue(broker.newReadOnlyTransaction().exists(OPERATIONAL, entryPath).get());
+            assertEquals(i % 5 == 0, broker.newReadOnlyTransaction().exists(CONFIGURATION, entryPath).get());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRejectedCommit() throws Exception {
+        executor.shutdown();
+        final GroupCommitDOMDataBroker broker = new GroupCommitDOMDataBroker(
+            ImmutableMap.of(CONFIGURATION, configStore, OPERATIONAL, operStore), executor, 16, 0,
+            TimeUnit.MILLISECONDS);
+
+        final DOMDataTreeWriteTransaction tx = broker.newWriteOnlyTransaction();
+        tx.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> tx.commit().get());
+        assertTrue(ex.getCause() instanceof TransactionCommitFailedException);
+        assertTrue(ex.getCause().getCause() instanceof RejectedExecutionException);
+    }
+
+    private static void assertBatchedCommits(final GroupCommitDOMDataBroker broker) throws Exception {
+        final DOMDataTreeWriteTransaction first = broker.newWriteOnlyTransaction();
+        first.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        first.put(OPERATIONAL, TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .build());
+        first.commit().get();
+
+        // Transactions touch distinct list entries, so they do not conflict with each other
+        final List<FluentFuture<? extends CommitInfo>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            final DOMDataTreeWriteTransaction tx = broker.newWriteOnlyTransaction();
+            tx.put(OPERATIONAL, TestModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i)),
+                ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+            futures.add(tx.commit());
+        }
+
+        for (FluentFuture<? extends CommitInfo> future : futures) {
+            assertSame(CommitInfo.empty(), future.get());
+        }
+
+        assertTrue(broker.newReadOnlyTransaction().exists(OPERATIONAL, TestModel.OUTER_LIST_PATH).get());
+        assertFalse(broker.newReadOnlyTransaction().exists(CONFIGURATION, TestModel.TEST_PATH).get());
+        assertEquals(futures.size() + 1, broker.getCommitStatsTracker().getTotalDurations());
+    }
+
+    private static void assertFailedCommitDoesNotAffectBatch(final GroupCommitDOMDataBroker broker)
+            throws Exception {
+        // All transactions are allocated from the same snapshot, hence the second one conflicts with the first one
+        final DOMDataTreeWriteTransaction first = broker.newWriteOnlyTransaction();
+        first.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        final DOMDataTreeWriteTransaction conflicting = broker.newWriteOnlyTransaction();
+        conflicting.put(OPERATIONAL, TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        final DOMDataTreeWriteTransaction unrelated = broker.newWriteOnlyTransaction();
+        unrelated.put(OPERATIONAL, TestModel.TEST2_PATH, ImmutableNodes.containerNode(TestModel.TEST2_QNAME));
+
+        final FluentFuture<? extends CommitInfo> firstFuture = first.commit();
+        final FluentFuture<? extends CommitInfo> conflictingFuture = conflicting.commit();
+        final FluentFuture<? extends CommitInfo> unrelatedFuture = unrelated.commit();
+
+        assertSame(CommitInfo.empty(), firstFuture.get());
+        final ExecutionException ex = assertThrows(ExecutionException.class, conflictingFuture::get);
+        assertTrue(ex.getCause() instanceof TransactionCommitFailedException);
+        assertSame(CommitInfo.empty(), unrelatedFuture.get());
+    }
+
+    private static InMemoryDOMDataStore pipelinedStore(final String name) {
+        final InMemoryDOMDataStore store = new InMemoryDOMDataStore(name, DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            MoreExecutors.newDirectExecutorService(),
+            InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE, false, true);
+        store.onModelContextUpdated(SCHEMA_CONTEXT);
+        return store;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.broker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class PersistentHashMapTest {
+    private static final class Colliding {
+        private final int value;
+
+        Colliding(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 3;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Colliding && value == ((Colliding) obj).value;
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.of();
+
+        for (int i = 0; i < 20000; ++i) {
+            final Integer key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        for (int i = 0; i < 2000; ++i) {
+            assertEquals(expected.get(i), map.get(i));
+        }
+        assertNull(map.get(null));
+        assertNull(map.get("foo"));
+    }
+
+    @Test
+    public void testStructuralSharing() {
+        PersistentHashMap<Integer, String> map = PersistentHashMap.of();
+        for (int i = 0; i < 100; ++i) {
+            map = map.plus(i, "value");
+        }
+
+        final PersistentHashMap<Integer, String> updated = map.plus(100, "new").minus(0);
+        assertEquals(100, map.size());
+        assertEquals(100, updated.size());
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(100));
+        assertFalse(updated.containsKey(0));
+        assertEquals("new", updated.get(100));
+
+        final String value = map.get(1);
+        assertSame(map, map.plus(1, value));
+        assertSame(map, map.minus(1000));
+        assertThrows(NullPointerException.class, () -> updated.plus(1, null));
+        assertThrows(UnsupportedOperationException.class, () -> updated.put(1, "foo"));
+    }
+
+    @Test
+    public void testCollisions() {
+        final Map<Colliding, Integer> expected = new HashMap<>();
+        PersistentHashMap<Colliding, Integer> map = PersistentHashMap.of();
+        for (int i = 0; i < 30; ++i) {
+            expected.put(new Colliding(i), i);
+            map = map.plus(new Colliding(i), i);
+        }
+        assertEquals(expected, map);
+
+        for (int i = 0; i < 30; i += 2) {
+            expected.remove(new Colliding(i));
+            map = map.minus(new Colliding(i));
+        }
+        assertEquals(expected, map);
+
+        for (int i = 1; i < 30; i += 2) {
+            map = map.minus(new Colliding(i));
+        }
+        assertTrue(map.isEmpty());
+        assertSame(PersistentHashMap.of(), map);
+    }
+}
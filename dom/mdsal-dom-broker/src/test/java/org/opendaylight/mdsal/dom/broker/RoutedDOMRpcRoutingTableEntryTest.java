@@ -8,18 +8,31 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMRpcImplementation;
 import org.opendaylight.mdsal.dom.api.DOMRpcImplementationNotAvailableException;
+import org.opendaylight.mdsal.dom.api.DOMRpcResult;
 import org.opendaylight.mdsal.dom.broker.DOMRpcRouter.OperationInvocation;
 import org.opendaylight.mdsal.dom.broker.util.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -42,4 +55,38 @@ public class RoutedDOMRpcRoutingTableEntryTest extends TestUtils {
             assertTrue(e.getCause() instanceof DOMRpcImplementationNotAvailableException);
         }
     }
+
+    @Test
+    public void routedInvocationTest() {
+        final RpcDefinition rpcDefinition = mock(RpcDefinition.class);
+        doReturn(SchemaPath.ROOT).when(rpcDefinition).getPath();
+
+        final YangInstanceIdentifier context = TestModel.OUTER_LIST_PATH;
+        final YangInstanceIdentifier otherContext = TestModel.INNER_CONTAINER_PATH;
+        final DOMRpcImplementation specific = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation wildcard = mock(DOMRpcImplementation.class);
+        final RoutedDOMRpcRoutingTableEntry entry = new RoutedDOMRpcRoutingTableEntry(rpcDefinition,
+            YangInstanceIdentifier.of(TestModel.ID_QNAME), Map.of(
+                context, List.of(specific),
+                YangInstanceIdentifier.empty(), List.of(wildcard)));
+
+        final ContainerNode input = routedInput(context);
+        final ListenableFuture<DOMRpcResult> specificFuture = SettableFuture.create();
+        doReturn(specificFuture).when(specific).invokeRpc(DOMRpcIdentifier.create(SchemaPath.ROOT, context), input);
+        assertSame(specificFuture, OperationInvocation.invoke(entry, input));
+
+        final ContainerNode otherInput = routedInput(otherContext);
+        final ListenableFuture<DOMRpcResult> wildcardFuture = SettableFuture.create();
+        doReturn(wildcardFuture).when(wildcard).invokeRpc(DOMRpcIdentifier.create(SchemaPath.ROOT, otherContext),
+            otherInput);
+        assertSame(wildcardFuture, OperationInvocation.invoke(entry.newInstance(entry.getImplementations()),
+            otherInput));
+    }
+
+    private static ContainerNode routedInput(final YangInstanceIdentifier context) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, context))
+            .build();
+    }
 }
@@ -9,7 +9,6 @@ package org.opendaylight.mdsal.dom.store.inmemory;
 
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.util.concurrent.ListenableFuture;
 import org.opendaylight.mdsal.dom.spi.store.SnapshotBackedWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 
@@ -26,10 +25,8 @@ final class ChainedTransactionCommitImpl extends InMemoryDOMStoreThreePhaseCommi
     }
 
     @Override
-    public ListenableFuture<Void> commit() {
-        ListenableFuture<Void> ret = super.commit();
+    void transactionCommitted() {
         txChain.transactionCommited(getTransaction());
-        return ret;
     }
 
 }
\ No newline at end of file
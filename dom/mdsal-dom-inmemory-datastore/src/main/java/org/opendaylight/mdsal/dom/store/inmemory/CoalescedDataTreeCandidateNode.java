@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A {@link DataTreeCandidateNode} resulting from merging two consecutive changes of the same node. The result spans
+ * the data before the older change and after the newer change, with changes to individual children merged
+ * recursively while both changes are {@link ModificationType#SUBTREE_MODIFIED}. Should all of these cancel each
+ * other out, the node is reported as {@link ModificationType#UNMODIFIED}. Any other combination results in the node
+ * being reported as replaced, with its children computed from the difference of before and after data.
+ */
+final class CoalescedDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final @NonNull PathArgument identifier;
+    private final @NonNull ModificationType type;
+    private final Optional<NormalizedNode<?, ?>> dataBefore;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    // Null if children should be derived from before/after data
+    private final Map<PathArgument, DataTreeCandidateNode> children;
+
+    private CoalescedDataTreeCandidateNode(final PathArgument identifier, final ModificationType type,
+            final Optional<NormalizedNode<?, ?>> dataBefore, final Optional<NormalizedNode<?, ?>> dataAfter,
+            final Map<PathArgument, DataTreeCandidateNode> children) {
+        this.identifier = requireNonNull(identifier);
+        this.type = requireNonNull(type);
+        this.dataBefore = requireNonNull(dataBefore);
+        this.dataAfter = requireNonNull(dataAfter);
+        this.children = children;
+    }
+
+    /**
+     * Merge two consecutive changes of the same node.
+     *
+     * @param older the change which happened first
+     * @param newer the change which happened second
+     * @return A node reflecting both changes
+     */
+    static @NonNull DataTreeCandidateNode coalesce(final DataTreeCandidateNode older,
+            final DataTreeCandidateNode newer) {
+        if (older.getModificationType() == ModificationType.UNMODIFIED) {
+            return newer;
+        }
+        if (newer.getModificationType() == ModificationType.UNMODIFIED) {
+            return older;
+        }
+        if (older.getModificationType() != ModificationType.SUBTREE_MODIFIED
+                || newer.getModificationType() != ModificationType.SUBTREE_MODIFIED) {
+            return replaced(older.getIdentifier(), older.getDataBefore(), newer.getDataAfter());
+        }
+
+        final Map<PathArgument, DataTreeCandidateNode> merged = new LinkedHashMap<>();
+        for (DataTreeCandidateNode child : older.getChildNodes()) {
+            merged.put(child.getIdentifier(), child);
+        }
+        for (DataTreeCandidateNode child : newer.getChildNodes()) {
+            final DataTreeCandidateNode prev = merged.get(child.getIdentifier());
+            final DataTreeCandidateNode next = prev == null ? child : coalesce(prev, child);
+            if (next.getModificationType() != ModificationType.UNMODIFIED) {
+                merged.put(child.getIdentifier(), next);
+            } else {
+                merged.remove(child.getIdentifier());
+            }
+        }
+
+        // Changes to all children may have cancelled each other out
+        return new CoalescedDataTreeCandidateNode(older.getIdentifier(),
+            merged.isEmpty() ? ModificationType.UNMODIFIED : ModificationType.SUBTREE_MODIFIED,
+            older.getDataBefore(), newer.getDataAfter(), merged);
+    }
+
+    /**
+     * Create a node reporting a change from one state of a node to another, without knowing how it came about.
+     *
+     * @param identifier identifier of the node
+     * @param dataBefore data before the change
+     * @param dataAfter data after the change
+     * @return A node reflecting the change
+     */
+    static @NonNull DataTreeCandidateNode replaced(final PathArgument identifier,
+            final Optional<NormalizedNode<?, ?>> dataBefore, final Optional<NormalizedNode<?, ?>> dataAfter) {
+        final ModificationType type;
+        if (dataAfter.isPresent() && dataBefore.isPresent() && dataAfter.get() == dataBefore.get()) {
+            type = ModificationType.UNMODIFIED;
+        } else if (dataAfter.isPresent()) {
+            type = ModificationType.WRITE;
+        } else if (dataBefore.isPresent()) {
+            type = ModificationType.DELETE;
+        } else {
+            type = ModificationType.UNMODIFIED;
+        }
+        return new CoalescedDataTreeCandidateNode(identifier, type, dataBefore, dataAfter, null);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return type;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return dataBefore;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        if (children != null) {
+            return children.values();
+        }
+
+        final NormalizedNodeContainer<?, ?, ?> before = container(dataBefore);
+        final NormalizedNodeContainer<?, ?, ?> after = container(dataAfter);
+        final List<DataTreeCandidateNode> ret = new ArrayList<>();
+        if (after != null) {
+            for (NormalizedNode<?, ?> child : after.getValue()) {
+                final Optional<NormalizedNode<?, ?>> beforeChild = child(before, child.getIdentifier());
+                if (beforeChild.isEmpty() || beforeChild.get() != child) {
+                    ret.add(replaced(child.getIdentifier(), beforeChild, Optional.of(child)));
+                }
+            }
+        }
+        if (before != null) {
+            for (NormalizedNode<?, ?> child : before.getValue()) {
+                if (child(after, child.getIdentifier()).isEmpty()) {
+                    ret.add(replaced(child.getIdentifier(), Optional.of(child), Optional.empty()));
+                }
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public Optional<DataTreeCandidateNode> getModifiedChild(final PathArgument childIdentifier) {
+        if (children != null) {
+            return Optional.ofNullable(children.get(childIdentifier));
+        }
+
+        final Optional<NormalizedNode<?, ?>> beforeChild = child(container(dataBefore), childIdentifier);
+        final Optional<NormalizedNode<?, ?>> afterChild = child(container(dataAfter), childIdentifier);
+        if (beforeChild.isEmpty() && afterChild.isEmpty()
+                || beforeChild.isPresent() && afterChild.isPresent() && beforeChild.get() == afterChild.get()) {
+            return Optional.empty();
+        }
+        return Optional.of(replaced(childIdentifier, beforeChild, afterChild));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("type", type).toString();
+    }
+
+    private static NormalizedNodeContainer<?, ?, ?> container(final Optional<NormalizedNode<?, ?>> data) {
+        if (data.isPresent()) {
+            final NormalizedNode<?, ?> node = data.get();
+            // Unkeyed list entries cannot be addressed individually, hence we treat the list as a leaf
+            if (node instanceof NormalizedNodeContainer && !(node instanceof UnkeyedListNode)) {
+                return (NormalizedNodeContainer<?, ?, ?>) node;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Optional<NormalizedNode<?, ?>> child(final NormalizedNodeContainer<?, ?, ?> container,
+            final PathArgument childIdentifier) {
+        return container == null ? Optional.empty() : ((NormalizedNodeContainer) container).getChild(childIdentifier);
+    }
+}
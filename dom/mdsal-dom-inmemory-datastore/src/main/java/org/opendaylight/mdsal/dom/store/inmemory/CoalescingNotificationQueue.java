@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.Iterables;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.opendaylight.mdsal.dom.api.CoalescingDOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notification queue of a single {@link CoalescingDOMDataTreeChangeListener} registration. Candidates rooted at the
+ * same path are merged while they are pending, so the queue holds at most one candidate per path. The number of
+ * distinct paths is bounded. Submitters are never blocked, as they run while holding the publisher's locks: once the
+ * bound is reached, all pending changes are coalesced into a single candidate rooted at their closest common ancestor,
+ * which is computed from the state of the data tree before the oldest and after the newest pending change. No change
+ * is lost, but the listener has to work out what changed beneath that ancestor. At most one delivery task is scheduled
+ * on the executor at any given time.
+ */
+final class CoalescingNotificationQueue implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingNotificationQueue.class);
+
+    private final AbstractDOMDataTreeChangeListenerRegistration<?> registration;
+    private final Executor executor;
+    private final int maxPaths;
+
+    @GuardedBy("this")
+    private Map<YangInstanceIdentifier, DataTreeCandidate> pending = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private boolean scheduled;
+    // Number of times pending changes have been coalesced at their common ancestor since the last delivery
+    @GuardedBy("this")
+    private long overflows;
+
+    // State of the data tree before the oldest pending change and after the newest one. Data trees are persistent,
+    // hence holding on to these costs only the nodes which have changed since.
+    @GuardedBy("this")
+    private YangInstanceIdentifier treePath = YangInstanceIdentifier.empty();
+    @GuardedBy("this")
+    private Optional<NormalizedNode<?, ?>> treeBefore = Optional.empty();
+    @GuardedBy("this")
+    private Optional<NormalizedNode<?, ?>> treeAfter = Optional.empty();
+
+    CoalescingNotificationQueue(final AbstractDOMDataTreeChangeListenerRegistration<?> registration,
+            final Executor executor, final int maxPaths) {
+        checkArgument(maxPaths > 0, "Maximum number of paths %s is not positive", maxPaths);
+        this.registration = requireNonNull(registration);
+        this.executor = requireNonNull(executor);
+        this.maxPaths = maxPaths;
+    }
+
+    /**
+     * Submit changes for delivery.
+     *
+     * @param candidates Changes relevant to the registration
+     * @param tree Change of the data tree these changes were taken from
+     */
+    synchronized void submit(final Collection<DataTreeCandidate> candidates, final DataTreeCandidate tree) {
+        final DataTreeCandidateNode treeNode = tree.getRootNode();
+        if (pending.isEmpty()) {
+            treePath = tree.getRootPath();
+            treeBefore = treeNode.getDataBefore();
+        } else {
+            verify(treePath.equals(tree.getRootPath()), "Unexpected tree root %s, expecting %s", tree.getRootPath(),
+                treePath);
+        }
+        treeAfter = treeNode.getDataAfter();
+
+        for (DataTreeCandidate candidate : candidates) {
+            final YangInstanceIdentifier path = candidate.getRootPath();
+            final DataTreeCandidate prev = pending.get(path);
+            if (prev == null) {
+                if (pending.size() < maxPaths) {
+                    if (candidate.getRootNode().getModificationType() != ModificationType.UNMODIFIED) {
+                        pending.put(path, candidate);
+                    }
+                    continue;
+                }
+
+                // The tree already reflects all of the candidates, hence this takes care of the rest of them, too
+                coalesceAtAncestor(candidates);
+                break;
+            }
+
+            final DataTreeCandidateNode merged = CoalescedDataTreeCandidateNode.coalesce(prev.getRootNode(),
+                candidate.getRootNode());
+            if (merged.getModificationType() != ModificationType.UNMODIFIED) {
+                pending.put(path, DataTreeCandidates.newDataTreeCandidate(path, merged));
+            } else {
+                // Changes have cancelled each other out
+                pending.remove(path);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            releaseTree();
+        } else if (!scheduled) {
+            schedule();
+        }
+    }
+
+    @GuardedBy("this")
+    private void coalesceAtAncestor(final Collection<DataTreeCandidate> candidates) {
+        List<PathArgument> common = null;
+        for (YangInstanceIdentifier path : Iterables.concat(pending.keySet(),
+                Collections2.transform(candidates, DataTreeCandidate::getRootPath))) {
+            common = common == null ? path.getPathArguments() : commonPrefix(common, path.getPathArguments());
+        }
+        final YangInstanceIdentifier ancestor = YangInstanceIdentifier.create(common);
+        final Optional<NormalizedNode<?, ?>> before = dataAt(treeBefore, ancestor);
+        final Optional<NormalizedNode<?, ?>> after = dataAt(treeAfter, ancestor);
+
+        if (overflows++ == 0) {
+            // Warn only once per overflow, as every subsequent change would be reported until the listener catches up
+            LOG.warn("Listener {} is not keeping up with {} pending paths, coalescing its changes at {}",
+                registration.getInstance(), maxPaths, ancestor);
+        } else {
+            LOG.debug("Coalescing changes at {} for listener {}", ancestor, registration.getInstance());
+        }
+
+        pending = new LinkedHashMap<>();
+        if (before.isEmpty() && after.isEmpty()) {
+            // The ancestor did not exist before and does not exist now, hence there is nothing to report
+            return;
+        }
+
+        final PathArgument identifier = ancestor.isEmpty() ? after.or(() -> before).get().getIdentifier()
+            : ancestor.getLastPathArgument();
+        final DataTreeCandidateNode node = CoalescedDataTreeCandidateNode.replaced(identifier, before, after);
+        if (node.getModificationType() != ModificationType.UNMODIFIED) {
+            pending.put(ancestor, DataTreeCandidates.newDataTreeCandidate(ancestor, node));
+        }
+    }
+
+    @GuardedBy("this")
+    private Optional<NormalizedNode<?, ?>> dataAt(final Optional<NormalizedNode<?, ?>> tree,
+            final YangInstanceIdentifier path) {
+        final Optional<YangInstanceIdentifier> relative = path.relativeTo(treePath);
+        verify(relative.isPresent(), "Path %s is not under tree root %s", path, treePath);
+        return NormalizedNodes.findNode(tree, relative.get().getPathArguments());
+    }
+
+    @GuardedBy("this")
+    private void releaseTree() {
+        treeBefore = Optional.empty();
+        treeAfter = Optional.empty();
+    }
+
+    private static List<PathArgument> commonPrefix(final List<PathArgument> first, final List<PathArgument> second) {
+        final int limit = Math.min(first.size(), second.size());
+        int common = 0;
+        while (common < limit && first.get(common).equals(second.get(common))) {
+            common++;
+        }
+        return first.subList(0, common);
+    }
+
+    @GuardedBy("this")
+    private boolean schedule() {
+        // Set before scheduling, as the executor may run the task in this thread
+        scheduled = true;
+        try {
+            executor.execute(this);
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Failed to schedule delivery to {}, will retry on next change", registration, e);
+            scheduled = false;
+            return false;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void run() {
+        while (true) {
+            final List<DataTreeCandidate> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+                batch = List.copyOf(pending.values());
+                pending = new LinkedHashMap<>();
+                releaseTree();
+                if (overflows != 0) {
+                    LOG.info("Listener {} caught up, its changes were coalesced {} times", registration.getInstance(),
+                        overflows);
+                    overflows = 0;
+                }
+            }
+
+            if (!registration.isClosed()) {
+                try {
+                    registration.getInstance().onDataTreeChanged(batch);
+                } catch (Exception e) {
+                    LOG.error("Listener {} failed to process {} changes", registration.getInstance(), batch.size(),
+                        e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Release all pending candidates. Invoked when the registration is closed.
+     */
+    synchronized void close() {
+        pending = new LinkedHashMap<>();
+        releaseTree();
+    }
+
+    @VisibleForTesting
+    synchronized int pendingPaths() {
+        return pending.size();
+    }
+}
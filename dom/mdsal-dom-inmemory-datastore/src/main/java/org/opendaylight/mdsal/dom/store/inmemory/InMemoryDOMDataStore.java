@@ -7,14 +7,31 @@
  */
 package org.opendaylight.mdsal.dom.store.inmemory;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.spi.store.DOMStore;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitter;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreReadWriteTransaction;
 import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
@@ -31,9 +48,11 @@ import org.opendaylight.yangtools.util.concurrent.EqualityQueuedNotificationMana
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -45,6 +64,16 @@ import org.slf4j.LoggerFactory;
  * In-memory DOM Data Store. Implementation of {@link DOMStore} which uses {@link DataTree} and other classes such as
  * {@link SnapshotBackedWriteTransaction}.
  * {@link org.opendaylight.mdsal.dom.spi.store.SnapshotBackedReadTransaction} to implement {@link DOMStore} contract.
+ *
+ *<p>
+ * The store can optionally run in pipelined commit mode. In that mode a transaction is validated and prepared against
+ * the state predicted by the transactions which have been prepared, but not yet committed, rather than against the
+ * committed state. This allows a transaction to proceed through canCommit and preCommit while its predecessor is
+ * being committed. Aborting a prepared transaction also aborts all transactions which have been prepared after it,
+ * as they were prepared on top of its changes. Furthermore change notifications are dispatched outside of the commit
+ * lock, so that the next commit does not have to wait for listener lookup to finish. Cohorts of a pipelined store also
+ * expose a {@link DOMStoreBatchCommitter}, which commits a number of prepared transactions under a single acquisition
+ * of the commit lock and publishes their changes in one go.
  */
 public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> implements DOMStore,
         Identifiable<String>, EffectiveModelContextListener, AutoCloseable, DOMStoreTreeChangePublisher {
@@ -55,9 +84,20 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
 
     private final InMemoryDOMStoreTreeChangePublisher changePublisher;
     private final ExecutorService dataChangeListenerExecutor;
+    private final ForkJoinPool listenerLookupPool;
     private final boolean debugTransactions;
+    private final boolean pipelinedCommit;
+    private final DOMStoreBatchCommitter batchCommitter;
     private final String name;
 
+    // Candidates which have been prepared, but not committed yet, in the order they have been prepared
+    @GuardedBy("pipeline")
+    private final Deque<DataTreeCandidateTip> pipeline = new ArrayDeque<>();
+
+    // Committed candidates waiting to be published, in commit order
+    private final Queue<DataTreeCandidate> pendingPublish = new ConcurrentLinkedQueue<>();
+    private final Lock publishLock = new ReentrantLock();
+
     private volatile AutoCloseable closeable;
 
     public InMemoryDOMDataStore(final String name, final ExecutorService dataChangeListenerExecutor) {
@@ -80,18 +120,51 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     public InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
             final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
             final boolean debugTransactions) {
+        this(name, config, dataChangeListenerExecutor, maxDataChangeListenerQueueSize, debugTransactions, false);
+    }
+
+    public InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
+            final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
+            final boolean debugTransactions, final boolean pipelinedCommit) {
+        this(name, config, dataChangeListenerExecutor, maxDataChangeListenerQueueSize, debugTransactions,
+            pipelinedCommit, 0);
+    }
+
+    public InMemoryDOMDataStore(final String name, final LogicalDatastoreType type,
+            final ExecutorService dataChangeListenerExecutor, final InMemoryDOMDataStoreConfigProperties properties) {
+        this(name, defaultConfig(type), dataChangeListenerExecutor, properties.getMaxDataChangeListenerQueueSize(),
+            properties.getDebugTransactions(), properties.getPipelinedCommit(),
+            properties.getListenerLookupParallelism());
+    }
+
+    private InMemoryDOMDataStore(final String name, final DataTreeConfiguration config,
+            final ExecutorService dataChangeListenerExecutor, final int maxDataChangeListenerQueueSize,
+            final boolean debugTransactions, final boolean pipelinedCommit, final int listenerLookupParallelism) {
         this.name = requireNonNull(name);
         this.dataChangeListenerExecutor = requireNonNull(dataChangeListenerExecutor);
         this.debugTransactions = debugTransactions;
+        this.pipelinedCommit = pipelinedCommit;
+        batchCommitter = pipelinedCommit ? this::commitBatch : null;
         dataTree = new InMemoryDataTreeFactory().create(config);
+        listenerLookupPool = listenerLookupParallelism > 0 ? new ForkJoinPool(listenerLookupParallelism) : null;
         changePublisher = new InMemoryDOMStoreTreeChangePublisher("name", this.dataChangeListenerExecutor,
-                maxDataChangeListenerQueueSize);
+                maxDataChangeListenerQueueSize, listenerLookupPool);
     }
 
     public EqualityQueuedNotificationManager<?, ?> getDataChangeListenerNotificationManager() {
         return changePublisher.getNotificationManager();
     }
 
+    @VisibleForTesting
+    int pendingTreeChangeCandidates() {
+        return changePublisher.pendingCandidates();
+    }
+
+    @VisibleForTesting
+    int coalescingTreeChangeQueues() {
+        return changePublisher.coalescingQueues();
+    }
+
     public void setCloseable(final AutoCloseable closeable) {
         this.closeable = closeable;
     }
@@ -133,6 +206,9 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     @Override
     public void close() {
         ExecutorServiceUtil.tryGracefulShutdown(dataChangeListenerExecutor, 30, TimeUnit.SECONDS);
+        if (listenerLookupPool != null) {
+            listenerLookupPool.shutdown();
+        }
 
         if (closeable != null) {
             try {
@@ -147,6 +223,10 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
         return debugTransactions;
     }
 
+    public final boolean getPipelinedCommit() {
+        return pipelinedCommit;
+    }
+
     final DataTreeSnapshot takeSnapshot() {
         return dataTree.takeSnapshot();
     }
@@ -156,8 +236,15 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
             final YangInstanceIdentifier treeId, final L listener) {
         /*
          * Make sure commit is not occurring right now. Listener has to be
-         * registered and its state capture enqueued at a consistent point.
+         * registered and its state capture enqueued at a consistent point. Any changes which have
+         * already been committed need to be published before that, so the listener does not see them twice.
          */
+        publishLock.lock();
+        try {
+            publishPending();
+        } finally {
+            publishLock.unlock();
+        }
         return changePublisher.registerTreeChangeListener(treeId, listener, dataTree.takeSnapshot());
     }
 
@@ -178,16 +265,129 @@ public class InMemoryDOMDataStore extends TransactionReadyPrototype<String> impl
     }
 
     void validate(final DataTreeModification modification) throws DataValidationFailedException {
-        dataTree.validate(modification);
+        if (!pipelinedCommit) {
+            dataTree.validate(modification);
+            return;
+        }
+
+        synchronized (pipeline) {
+            currentTip().validate(modification);
+        }
     }
 
     DataTreeCandidate prepare(final DataTreeModification modification) throws DataValidationFailedException {
-        return dataTree.prepare(modification);
+        if (!pipelinedCommit) {
+            return dataTree.prepare(modification);
+        }
+
+        // The tip may have moved since canCommit(), as other transactions may have been prepared or aborted in the
+        // meantime. Validate again against the tip we are preparing on, without letting it move in between.
+        synchronized (pipeline) {
+            final DataTreeTip tip = currentTip();
+            tip.validate(modification);
+            final DataTreeCandidateTip candidate = tip.prepare(modification);
+            pipeline.addLast(candidate);
+            return candidate;
+        }
+    }
+
+    void abort(final DataTreeCandidate candidate) {
+        if (pipelinedCommit) {
+            // Any candidates prepared on top of this one can never commit, as their base will never be reached. Abort
+            // them as well, so new transactions are not prepared on top of them.
+            synchronized (pipeline) {
+                if (pipeline.contains(candidate)) {
+                    DataTreeCandidateTip last;
+                    do {
+                        last = pipeline.removeLast();
+                        if (last != candidate) {
+                            LOG.debug("Aborting candidate {} prepared on top of aborted {}", last, candidate);
+                        }
+                    } while (last != candidate);
+                }
+            }
+        }
+    }
+
+    void commit(final DataTreeCandidate candidate) {
+        if (!pipelinedCommit) {
+            synchronized (this) {
+                dataTree.commit(candidate);
+                changePublisher.publishChange(candidate);
+            }
+            return;
+        }
+
+        synchronized (this) {
+            commitPipelined(candidate);
+        }
+        publishCommitted();
     }
 
-    synchronized void commit(final DataTreeCandidate candidate) {
-        dataTree.commit(candidate);
-        changePublisher.publishChange(candidate);
+    @Nullable DOMStoreBatchCommitter batchCommitter() {
+        return batchCommitter;
+    }
+
+    private List<ListenableFuture<Void>> commitBatch(final List<? extends DOMStoreBatchCommitCohort> cohorts) {
+        for (DOMStoreBatchCommitCohort cohort : cohorts) {
+            checkArgument(cohort instanceof InMemoryDOMStoreThreePhaseCommitCohort
+                && cohort.getBatchCommitter() == batchCommitter, "Cohort %s does not belong to %s", cohort, this);
+        }
+
+        final List<ListenableFuture<Void>> ret = new ArrayList<>(cohorts.size());
+        synchronized (this) {
+            for (DOMStoreBatchCommitCohort cohort : cohorts) {
+                ret.add(((InMemoryDOMStoreThreePhaseCommitCohort) cohort).commitInBatch());
+            }
+        }
+        publishCommitted();
+        return ret;
+    }
+
+    @GuardedBy("this")
+    void commitPipelined(final DataTreeCandidate candidate) {
+        synchronized (pipeline) {
+            checkState(pipeline.contains(candidate),
+                "Candidate %s has been aborted, as it was prepared on top of an aborted transaction", candidate);
+        }
+        try {
+            dataTree.commit(candidate);
+        } catch (RuntimeException e) {
+            // Candidates prepared on top of this one can never commit either, get rid of them just as if it has been
+            // aborted, so new transactions are not prepared on state which can never be reached
+            abort(candidate);
+            throw e;
+        }
+        synchronized (pipeline) {
+            pipeline.removeFirstOccurrence(candidate);
+        }
+        pendingPublish.add(candidate);
+    }
+
+    private void publishCommitted() {
+        // Publish outside of the commit lock. Whoever holds the publish lock drains the queue, we need to re-check
+        // the queue after releasing the lock to make sure we do not leave a candidate behind.
+        while (!pendingPublish.isEmpty() && publishLock.tryLock()) {
+            try {
+                publishPending();
+            } finally {
+                publishLock.unlock();
+            }
+        }
+    }
+
+    @GuardedBy("pipeline")
+    private DataTreeTip currentTip() {
+        final DataTreeTip last = pipeline.peekLast();
+        return last != null ? last : dataTree;
+    }
+
+    @GuardedBy("publishLock")
+    private void publishPending() {
+        DataTreeCandidate candidate;
+        while ((candidate = pendingPublish.poll()) != null) {
+            changePublisher.publishChange(candidate);
+        }
     }
 
     private static DataTreeConfiguration defaultConfig(final LogicalDatastoreType type) {
@@ -78,7 +78,8 @@ public abstract class InMemoryDOMDataStoreConfigProperties {
     }
 
     /**
-     * Returns the maximum queue size for the data change listeners.
+     * Returns the maximum queue size for the data change listeners. For listeners requesting coalesced delivery this
+     * is the maximum number of distinct paths with pending changes.
      */
     @Value.Default
     public int getMaxDataChangeListenerQueueSize() {
@@ -92,4 +93,26 @@ public abstract class InMemoryDOMDataStoreConfigProperties {
     public int getMaxDataStoreExecutorQueueSize() {
         return DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE;
     }
+
+    /**
+     * Returns true if transactions should be validated and prepared against the state predicted by transactions which
+     * are yet to be committed, allowing commits to overlap.
+     *
+     * @return true if pipelined commit should be enabled.
+     */
+    @Value.Default
+    public boolean getPipelinedCommit() {
+        return false;
+    }
+
+    /**
+     * Returns the number of threads used to match committed changes against data tree change listener registrations.
+     * A value of 0 means changes are matched on the committing thread.
+     *
+     * @return the parallelism of listener lookup.
+     */
+    @Value.Default
+    public int getListenerLookupParallelism() {
+        return 0;
+    }
 }
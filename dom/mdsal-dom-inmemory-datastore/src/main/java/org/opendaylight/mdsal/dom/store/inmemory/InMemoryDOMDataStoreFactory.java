@@ -10,6 +10,7 @@ package org.opendaylight.mdsal.dom.store.inmemory;
 import java.util.concurrent.ExecutorService;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
 import org.opendaylight.yangtools.util.concurrent.SpecialExecutors;
 
@@ -46,8 +47,8 @@ public final class InMemoryDOMDataStoreFactory {
     public static InMemoryDOMDataStore create(final String name, final InMemoryDOMDataStoreConfigProperties properties,
             @Nullable final DOMSchemaService schemaService) {
         final ExecutorService dataChangeListenerExecutor = createExecutorService(name, properties);
-        final InMemoryDOMDataStore dataStore = new InMemoryDOMDataStore(name, dataChangeListenerExecutor,
-            properties.getMaxDataChangeListenerQueueSize(), properties.getDebugTransactions());
+        final InMemoryDOMDataStore dataStore = new InMemoryDOMDataStore(name, LogicalDatastoreType.OPERATIONAL,
+            dataChangeListenerExecutor, properties);
 
         if (schemaService != null) {
             schemaService.registerSchemaContextListener(dataStore);
@@ -13,10 +13,13 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.function.Consumer;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.OptimisticLockFailedException;
 import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.spi.store.AbstractDOMStoreTransaction;
-import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitter;
 import org.opendaylight.mdsal.dom.spi.store.SnapshotBackedWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -25,7 +28,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailed
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommitCohort {
+class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreBatchCommitCohort {
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDOMStoreThreePhaseCommitCohort.class);
     private static final ListenableFuture<Void> SUCCESSFUL_FUTURE = Futures.immediateFuture(null);
     private static final ListenableFuture<Boolean> CAN_COMMIT_FUTURE = Futures.immediateFuture(Boolean.TRUE);
@@ -92,6 +95,12 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
         try {
             candidate = store.prepare(modification);
             return SUCCESSFUL_FUTURE;
+        } catch (ConflictingModificationAppliedException e) {
+            // With pipelined commit enabled this happens when a conflicting transaction was prepared after canCommit
+            LOG.warn("Store Tx: {} Conflicting modification for {}.", getTransaction().getIdentifier(),
+                    e.getPath());
+            warnDebugContext(getTransaction());
+            return Futures.immediateFailedFuture(new OptimisticLockFailedException("Optimistic lock failed.", e));
         } catch (Exception e) {
             LOG.warn("Unexpected failure in pre-commit phase", e);
             return Futures.immediateFailedFuture(e);
@@ -100,7 +109,10 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
 
     @Override
     public final ListenableFuture<Void> abort() {
-        candidate = null;
+        if (candidate != null) {
+            store.abort(candidate);
+            candidate = null;
+        }
         return SUCCESSFUL_FUTURE;
     }
 
@@ -109,15 +121,45 @@ class InMemoryDOMStoreThreePhaseCommitCohort implements DOMStoreThreePhaseCommit
     }
 
     @Override
-    public ListenableFuture<Void> commit() {
+    public final @Nullable DOMStoreBatchCommitter getBatchCommitter() {
+        return store.batchCommitter();
+    }
+
+    @Override
+    public final ListenableFuture<Void> commit() {
+        return commit(store::commit);
+    }
+
+    // Invoked by the store as part of a batch, with the commit lock held
+    final ListenableFuture<Void> commitInBatch() {
+        return commit(store::commitPipelined);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private ListenableFuture<Void> commit(final Consumer<DataTreeCandidate> committer) {
         checkState(candidate != null, "Proposed subtree must be computed");
 
         /*
          * The commit has to occur atomically with regard to listener
          * registrations.
          */
-        store.commit(candidate);
+        try {
+            committer.accept(candidate);
+        } catch (Exception e) {
+            // With pipelined commit enabled this happens when a transaction we were prepared on top of has failed
+            LOG.warn("Store Tx: {} failed to commit", getTransaction().getIdentifier(), e);
+            return Futures.immediateFailedFuture(e);
+        } finally {
+            transactionCommitted();
+        }
         return SUCCESSFUL_FUTURE;
     }
+
+    /**
+     * Invoked once the commit of this cohort has been attempted, regardless of its outcome.
+     */
+    void transactionCommitted() {
+        // No-op by default
+    }
 }
 
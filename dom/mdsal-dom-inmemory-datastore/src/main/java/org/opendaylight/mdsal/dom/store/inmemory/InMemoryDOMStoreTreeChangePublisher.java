@@ -8,11 +8,22 @@
 package org.opendaylight.mdsal.dom.store.inmemory;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Verify.verifyNotNull;
 
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.dom.api.CoalescingDOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
 import org.opendaylight.mdsal.dom.spi.store.AbstractDOMStoreTreeChangePublisher;
@@ -31,23 +42,60 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDOMStoreTreeChangePublisher.class);
 
     // Registrations use identity for equality, hence we can skip wrapping them
-    private final EqualityQueuedNotificationManager<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>
+    private final EqualityQueuedNotificationManager<AbstractDOMDataTreeChangeListenerRegistration<?>, PendingCandidate>
         notificationManager;
+    // Candidates queued in notificationManager, so they can be released when their registration is closed
+    private final ConcurrentMap<AbstractDOMDataTreeChangeListenerRegistration<?>, Set<PendingCandidate>>
+        pendingCandidates;
+    // Queues of registrations which have requested coalesced delivery
+    private final ConcurrentMap<AbstractDOMDataTreeChangeListenerRegistration<?>, CoalescingNotificationQueue>
+        coalescingQueues;
+    private final ExecutorService listenerExecutor;
+    private final int maxQueueSize;
+    // Registration on whose behalf we are publishing initial data, null if this is the primary publisher
+    private final AbstractDOMDataTreeChangeListenerRegistration<?> initialDataTarget;
+    // Candidate being published, so coalescing queues can see the whole tree
+    @GuardedBy("this")
+    private DataTreeCandidate currentTree;
 
     InMemoryDOMStoreTreeChangePublisher(final String dsName, final ExecutorService listenerExecutor,
             final int maxQueueSize) {
+        this(dsName, listenerExecutor, maxQueueSize, null);
+    }
+
+    InMemoryDOMStoreTreeChangePublisher(final String dsName, final ExecutorService listenerExecutor,
+            final int maxQueueSize, final @Nullable ForkJoinPool listenerLookupPool) {
+        super(listenerLookupPool);
+        this.listenerExecutor = listenerExecutor;
+        this.maxQueueSize = maxQueueSize;
+        pendingCandidates = new ConcurrentHashMap<>();
+        coalescingQueues = new ConcurrentHashMap<>();
+        initialDataTarget = null;
         notificationManager = new EqualityQueuedNotificationManager<>("DataTreeChangeListenerQueueMgr + dsName",
             listenerExecutor, maxQueueSize,
             (listener, notifications) -> {
-                if (!listener.isClosed()) {
-                    listener.getInstance().onDataTreeChanged(notifications);
+                // Candidates of closed registrations have already been released, take whatever is left
+                final List<DataTreeCandidate> changes = new ArrayList<>(notifications.size());
+                for (PendingCandidate notification : notifications) {
+                    final DataTreeCandidate candidate = notification.take();
+                    if (candidate != null) {
+                        changes.add(candidate);
+                    }
+                }
+                if (!changes.isEmpty() && !listener.isClosed()) {
+                    listener.getInstance().onDataTreeChanged(changes);
                 }
             });
     }
 
-    private InMemoryDOMStoreTreeChangePublisher(final EqualityQueuedNotificationManager<
-            AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate> notificationManager) {
-        this.notificationManager = notificationManager;
+    private InMemoryDOMStoreTreeChangePublisher(final InMemoryDOMStoreTreeChangePublisher parent,
+            final AbstractDOMDataTreeChangeListenerRegistration<?> initialDataTarget) {
+        notificationManager = parent.notificationManager;
+        pendingCandidates = parent.pendingCandidates;
+        coalescingQueues = parent.coalescingQueues;
+        listenerExecutor = parent.listenerExecutor;
+        maxQueueSize = parent.maxQueueSize;
+        this.initialDataTarget = initialDataTarget;
     }
 
     EqualityQueuedNotificationManager<?, ?> getNotificationManager() {
@@ -57,8 +105,32 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
     @Override
     protected void notifyListener(final AbstractDOMDataTreeChangeListenerRegistration<?> registration,
             final Collection<DataTreeCandidate> changes) {
-        LOG.debug("Enqueueing candidates {} for registration {}", changes, registration);
-        notificationManager.submitNotifications(registration, changes);
+        // Initial data is queued as if it were published by the primary publisher, so that it is delivered in order
+        // with subsequent changes and released when the registration is closed
+        final AbstractDOMDataTreeChangeListenerRegistration<?> target =
+                initialDataTarget != null ? initialDataTarget : registration;
+        if (target.isClosed()) {
+            LOG.debug("Ignoring candidates {} for closed registration {}", changes, target);
+            return;
+        }
+
+        LOG.debug("Enqueueing candidates {} for registration {}", changes, target);
+        if (target.getInstance() instanceof CoalescingDOMDataTreeChangeListener) {
+            coalescingQueues.computeIfAbsent(target,
+                reg -> new CoalescingNotificationQueue(reg, listenerExecutor, maxQueueSize))
+                .submit(changes, verifyNotNull(currentTree));
+            return;
+        }
+
+        final Set<PendingCandidate> pending = pendingCandidates.computeIfAbsent(target,
+            reg -> ConcurrentHashMap.newKeySet());
+        final List<PendingCandidate> notifications = new ArrayList<>(changes.size());
+        for (DataTreeCandidate candidate : changes) {
+            final PendingCandidate notification = new PendingCandidate(pending, candidate);
+            pending.add(notification);
+            notifications.add(notification);
+        }
+        notificationManager.submitNotifications(target, notifications);
     }
 
     @Override
@@ -66,7 +138,32 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
             final AbstractDOMDataTreeChangeListenerRegistration<?> registration) {
         LOG.debug("Closing registration {}", registration);
 
-        // FIXME: remove the queue for this registration and make sure we clear it
+        // Release candidates which have not been delivered yet. Their notificationManager entries remain queued until
+        // the listener's turn comes up, but they no longer hold on to any data and are skipped without invoking it.
+        final Set<PendingCandidate> pending = pendingCandidates.remove(registration);
+        if (pending != null) {
+            pending.forEach(PendingCandidate::release);
+            pending.clear();
+        }
+
+        final CoalescingNotificationQueue queue = coalescingQueues.remove(registration);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @VisibleForTesting
+    int pendingCandidates() {
+        int ret = pendingCandidates.values().stream().mapToInt(Set::size).sum();
+        for (CoalescingNotificationQueue queue : coalescingQueues.values()) {
+            ret += queue.pendingPaths();
+        }
+        return ret;
+    }
+
+    @VisibleForTesting
+    int coalescingQueues() {
+        return coalescingQueues.size();
     }
 
     <L extends DOMDataTreeChangeListener> ListenerRegistration<L> registerTreeChangeListener(
@@ -92,8 +189,7 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
         }
 
         final DataTreeCandidate candidate = DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.empty(), data);
-        final InMemoryDOMStoreTreeChangePublisher publisher = new InMemoryDOMStoreTreeChangePublisher(
-            notificationManager);
+        final InMemoryDOMStoreTreeChangePublisher publisher = new InMemoryDOMStoreTreeChangePublisher(this, reg);
         publisher.registerTreeChangeListener(treeId, listener);
         if (!publisher.publishChange(candidate)) {
             // There is no data in the conceptual data tree then
@@ -106,6 +202,36 @@ final class InMemoryDOMStoreTreeChangePublisher extends AbstractDOMStoreTreeChan
 
     synchronized boolean publishChange(final @NonNull DataTreeCandidate candidate) {
         // Runs synchronized with registrationRemoved()
-        return processCandidateTree(candidate);
+        currentTree = candidate;
+        try {
+            return processCandidateTree(candidate);
+        } finally {
+            currentTree = null;
+        }
+    }
+
+    /**
+     * A {@link DataTreeCandidate} queued for delivery. The candidate can be released independently of the queue
+     * holding this object.
+     */
+    private static final class PendingCandidate {
+        private final Set<PendingCandidate> owner;
+        private volatile DataTreeCandidate candidate;
+
+        PendingCandidate(final Set<PendingCandidate> owner, final DataTreeCandidate candidate) {
+            this.owner = owner;
+            this.candidate = candidate;
+        }
+
+        DataTreeCandidate take() {
+            final DataTreeCandidate ret = candidate;
+            release();
+            owner.remove(this);
+            return ret;
+        }
+
+        void release() {
+            candidate = null;
+        }
     }
 }
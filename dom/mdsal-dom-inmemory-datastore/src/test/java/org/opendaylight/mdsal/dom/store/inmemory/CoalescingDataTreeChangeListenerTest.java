@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.CoalescingDOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class CoalescingDataTreeChangeListenerTest {
+    private static final NodeIdentifierWithPredicates ENTRY_1 =
+            NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    private final ManualExecutorService executor = new ManualExecutorService();
+    private final CapturingListener listener = new CapturingListener();
+    private InMemoryDOMDataStore domStore;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = TestModel.createTestContext();
+    }
+
+    @Before
+    public void before() {
+        domStore = new InMemoryDOMDataStore("TEST", executor);
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+    }
+
+    @Test
+    public void testReplacedSubtree() throws Exception {
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        assertTrue(listener.initialData);
+
+        commit(tx -> tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME)));
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(1)));
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(2)));
+
+        // All three changes are delivered by a single task in a single batch
+        assertEquals(1, executor.runAll());
+        assertEquals(1, listener.batches.size());
+        final List<DataTreeCandidate> batch = listener.batches.get(0);
+        assertEquals(1, batch.size());
+
+        final DataTreeCandidate candidate = batch.get(0);
+        assertEquals(TestModel.TEST_PATH, candidate.getRootPath());
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.WRITE, root.getModificationType());
+        assertFalse(root.getDataBefore().isPresent());
+        assertEquals(read(TestModel.TEST_PATH), root.getDataAfter().get());
+
+        final DataTreeCandidateNode outerList = root.getModifiedChild(
+            new NodeIdentifier(TestModel.OUTER_LIST_QNAME)).get();
+        assertEquals(ModificationType.WRITE, outerList.getModificationType());
+        assertEquals(2, outerList.getChildNodes().size());
+    }
+
+    @Test
+    public void testCancelledChanges() throws Exception {
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        commit(tx -> tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME)));
+        commit(tx -> tx.delete(TestModel.TEST_PATH));
+
+        // Creation followed by deletion results in nothing to report
+        assertEquals(1, executor.runAll());
+        assertTrue(listener.batches.isEmpty());
+    }
+
+    @Test
+    public void testMergedChildren() throws Exception {
+        commit(tx -> tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME)));
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(1)));
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        executor.runAll();
+        listener.batches.clear();
+
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(2)));
+        commit(tx -> tx.write(TestModel.OUTER_LIST_PATH.node(ENTRY_1),
+            ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)
+                .withChild(ImmutableNodes.mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                    .withChild(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "foo"))
+                    .build())
+                .build()));
+
+        assertEquals(1, executor.runAll());
+        assertEquals(1, listener.batches.size());
+        final List<DataTreeCandidate> batch = listener.batches.get(0);
+        assertEquals(1, batch.size());
+
+        final DataTreeCandidateNode root = batch.get(0).getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(read(TestModel.TEST_PATH), root.getDataAfter().get());
+
+        final DataTreeCandidateNode outerList = root.getModifiedChild(
+            new NodeIdentifier(TestModel.OUTER_LIST_QNAME)).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, outerList.getModificationType());
+        assertEquals(2, outerList.getChildNodes().size());
+
+        // Last writer wins
+        final DataTreeCandidateNode entry = outerList.getModifiedChild(ENTRY_1).get();
+        assertEquals(read(TestModel.OUTER_LIST_PATH.node(ENTRY_1)), entry.getDataAfter().get());
+        assertTrue(entry.getDataBefore().isPresent());
+    }
+
+    @Test
+    public void testInitialDataSharesQueue() throws Exception {
+        commit(tx -> tx.write(TestModel.TEST_PATH, testWithEntry(1)));
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(2)));
+
+        // Initial data and the subsequent change are merged in the registration's queue
+        assertEquals(1, executor.runAll());
+        assertEquals(1, listener.batches.size());
+        final List<DataTreeCandidate> batch = listener.batches.get(0);
+        assertEquals(1, batch.size());
+
+        final DataTreeCandidateNode root = batch.get(0).getRootNode();
+        assertEquals(ModificationType.WRITE, root.getModificationType());
+        assertEquals(read(TestModel.TEST_PATH), root.getDataAfter().get());
+    }
+
+    @Test
+    public void testCancelledChildChanges() throws Exception {
+        commit(tx -> tx.write(TestModel.TEST_PATH, testWithEntry(1)));
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener);
+        executor.runAll();
+        listener.batches.clear();
+
+        final YangInstanceIdentifier entry2 = TestModel.OUTER_LIST_PATH.node(
+            NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2));
+        commit(tx -> tx.write(entry2, ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2)));
+        commit(tx -> tx.delete(entry2));
+
+        // Both changes are reported as modifications of the container, but they cancel out, hence nothing is delivered
+        assertEquals(1, executor.runAll());
+        assertTrue(listener.batches.isEmpty());
+    }
+
+    @Test
+    public void testCoalescedBeyondBound() throws Exception {
+        domStore = new InMemoryDOMDataStore("TEST", LogicalDatastoreType.OPERATIONAL, executor, 2, false);
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        commit(tx -> tx.write(TestModel.TEST_PATH, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build())
+            .build()));
+        final NormalizedNode<?, ?> emptyList = read(TestModel.OUTER_LIST_PATH);
+
+        // Listen on all entries of the list, each of which is a distinct path
+        domStore.registerTreeChangeListener(TestModel.OUTER_LIST_PATH.node(TestModel.OUTER_LIST_QNAME), listener);
+
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(1)));
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(2)));
+        assertEquals(2, domStore.pendingTreeChangeCandidates());
+
+        // A third path does not fit, hence all changes are coalesced at the list, without blocking the submitter
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(3)));
+        assertEquals(1, domStore.pendingTreeChangeCandidates());
+
+        assertEquals(1, executor.runAll());
+        assertEquals(1, listener.batches.size());
+        final List<DataTreeCandidate> batch = listener.batches.get(0);
+        assertEquals(1, batch.size());
+
+        // Nothing is lost: the candidate spans the state before the first and after the last change
+        final DataTreeCandidate candidate = batch.get(0);
+        assertEquals(TestModel.OUTER_LIST_PATH, candidate.getRootPath());
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        assertEquals(ModificationType.WRITE, root.getModificationType());
+        assertEquals(emptyList, root.getDataBefore().get());
+        assertEquals(read(TestModel.OUTER_LIST_PATH), root.getDataAfter().get());
+        assertEquals(3, root.getChildNodes().size());
+
+        // Once the listener has caught up, changes are tracked per path again
+        listener.batches.clear();
+        commit(tx -> tx.merge(TestModel.TEST_PATH, testWithEntry(4)));
+        assertEquals(1, executor.runAll());
+        assertEquals(1, listener.batches.size());
+        assertEquals(TestModel.OUTER_LIST_PATH.node(
+            NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4)),
+            listener.batches.get(0).get(0).getRootPath());
+    }
+
+    private static ContainerNode testWithEntry(final int id) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+            .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                .withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id))
+                .build())
+            .build();
+    }
+
+    private NormalizedNode<?, ?> read(final YangInstanceIdentifier path) throws Exception {
+        return domStore.newReadOnlyTransaction().read(path).get().get();
+    }
+
+    private void commit(final TransactionBody body) throws Exception {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        body.accept(tx);
+        final DOMStoreThreePhaseCommitCohort cohort = tx.ready();
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    @FunctionalInterface
+    private interface TransactionBody {
+        void accept(DOMStoreWriteTransaction tx);
+    }
+
+    private static final class CapturingListener implements CoalescingDOMDataTreeChangeListener {
+        final List<List<DataTreeCandidate>> batches = new ArrayList<>();
+        boolean initialData;
+
+        @Override
+        public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+            batches.add(new ArrayList<>(changes));
+        }
+
+        @Override
+        public void onInitialData() {
+            initialData = true;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An ExecutorService which queues tasks until they are explicitly run by the test.
+ */
+final class ManualExecutorService extends AbstractExecutorService {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    int runAll() {
+        int count = 0;
+        for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+            task.run();
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+        // No-op
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return List.copyOf(tasks);
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+        return false;
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.mdsal.common.api.OptimisticLockFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreBatchCommitter;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class PipelinedInMemoryDataStoreTest {
+    private static final NodeIdentifierWithPredicates ENTRY_1 =
+            NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    private final InMemoryDOMDataStore domStore = new InMemoryDOMDataStore("TEST",
+        DataTreeConfiguration.DEFAULT_OPERATIONAL, MoreExecutors.newDirectExecutorService(),
+        InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE, false, true);
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = TestModel.createTestContext();
+    }
+
+    @Test
+    public void testOverlappingCommits() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+
+        // Second transaction creates the list inside the container, which does not exist until the first one commits
+        final DOMStoreThreePhaseCommitCohort second = mergeOuterList();
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+
+        first.commit().get();
+        second.commit().get();
+
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testConflictWithPreparedTransaction() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        final DOMStoreThreePhaseCommitCohort second = writeTest();
+
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+
+        // The first transaction has not been committed yet, but the second one already conflicts with it
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> second.canCommit().get());
+        assertTrue(ex.getCause() instanceof OptimisticLockFailedException);
+        first.commit().get();
+    }
+
+    @Test
+    public void testAbortPreparedTransaction() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        final DOMStoreThreePhaseCommitCohort second = writeTest();
+
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+        first.abort().get();
+
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+        second.commit().get();
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.TEST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testFailedPredecessor() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+
+        final DOMStoreThreePhaseCommitCohort second = mergeOuterList();
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+
+        // Second transaction depends on the first one, hence it cannot commit once the first one is gone
+        first.abort().get();
+        assertThrows(ExecutionException.class, () -> second.commit().get());
+        assertFalse(domStore.newReadOnlyTransaction().read(TestModel.TEST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testChangesPublishedInOrder() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onInitialData();
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(YangInstanceIdentifier.empty(), listener);
+        verify(listener).onInitialData();
+
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+        final DOMStoreThreePhaseCommitCohort second = mergeOuterList();
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+        first.commit().get();
+        second.commit().get();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(1000).times(2)).onDataTreeChanged(captor.capture());
+
+        // Changes are observed in commit order: the container first, the list inside it second
+        final List<Collection<DataTreeCandidate>> changes = captor.getAllValues();
+        assertFalse(outerListAfter(changes.get(0)).isPresent());
+        assertTrue(outerListAfter(changes.get(1)).isPresent());
+    }
+
+    @Test
+    public void testConflictPreparedAfterCanCommit() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        final DOMStoreThreePhaseCommitCohort second = writeTest();
+
+        // Both transactions are valid against the committed state
+        assertTrue(first.canCommit().get());
+        assertTrue(second.canCommit().get());
+
+        // The first transaction is prepared in between, hence the second one is validated again before it is prepared
+        first.preCommit().get();
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> second.preCommit().get());
+        assertTrue(ex.getCause() instanceof OptimisticLockFailedException);
+        second.abort().get();
+
+        first.commit().get();
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.TEST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testAbortInTheMiddle() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+        final DOMStoreThreePhaseCommitCohort second = mergeOuterList();
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+        final DOMStoreThreePhaseCommitCohort third = writeOuterListEntry();
+        assertTrue(third.canCommit().get());
+        third.preCommit().get();
+
+        // Aborting the second transaction aborts the third one, which was prepared on top of it
+        second.abort().get();
+        first.commit().get();
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> third.commit().get());
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+        third.abort().get();
+
+        // New transactions are prepared on top of the first transaction only
+        final DOMStoreThreePhaseCommitCohort fourth = mergeOuterList();
+        assertTrue(fourth.canCommit().get());
+        fourth.preCommit().get();
+        fourth.commit().get();
+
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH).get().isPresent());
+        assertFalse(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH.node(ENTRY_1)).get()
+            .isPresent());
+    }
+
+    @Test
+    public void testFailedCommitInTheMiddle() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreThreePhaseCommitCohort first = writeTest();
+        assertTrue(first.canCommit().get());
+        first.preCommit().get();
+        final DOMStoreThreePhaseCommitCohort second = mergeOuterList();
+        assertTrue(second.canCommit().get());
+        second.preCommit().get();
+        final DOMStoreThreePhaseCommitCohort third = writeOuterListEntry();
+        assertTrue(third.canCommit().get());
+        third.preCommit().get();
+
+        // Committing out of order fails in the data tree, which takes down the third transaction, too
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> second.commit().get());
+        assertTrue(ex.getCause() instanceof IllegalStateException);
+        assertThrows(ExecutionException.class, () -> third.commit().get());
+        first.commit().get();
+
+        // New transactions are prepared on top of the first transaction only
+        final DOMStoreThreePhaseCommitCohort fourth = mergeOuterList();
+        assertTrue(fourth.canCommit().get());
+        fourth.preCommit().get();
+        fourth.commit().get();
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testBatchCommit() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(listener).onInitialData();
+        doNothing().when(listener).onDataTreeChanged(any());
+        domStore.registerTreeChangeListener(YangInstanceIdentifier.empty(), listener);
+
+        final DOMStoreBatchCommitCohort first = prepare(writeTest());
+        final DOMStoreBatchCommitCohort second = prepare(mergeOuterList());
+        final DOMStoreBatchCommitCohort third = prepare(writeOuterListEntry());
+
+        final DOMStoreBatchCommitter committer = first.getBatchCommitter();
+        assertNotNull(committer);
+        assertSame(committer, second.getBatchCommitter());
+        assertSame(committer, third.getBatchCommitter());
+
+        final List<ListenableFuture<Void>> futures = committer.commitBatch(List.of(first, second, third));
+        assertEquals(3, futures.size());
+        for (ListenableFuture<Void> future : futures) {
+            future.get();
+        }
+
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH.node(ENTRY_1)).get()
+            .isPresent());
+
+        // All three changes are published
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<DataTreeCandidate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, timeout(1000).atLeastOnce()).onDataTreeChanged(captor.capture());
+        assertEquals(3, captor.getAllValues().stream().mapToInt(Collection::size).sum());
+    }
+
+    @Test
+    public void testBatchCommitFailure() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMStoreBatchCommitCohort first = prepare(writeTest());
+        final DOMStoreBatchCommitCohort second = prepare(mergeOuterList());
+        final DOMStoreBatchCommitCohort third = prepare(writeOuterListEntry());
+
+        // The second transaction cannot commit before the first one, which takes down the third one, but the first
+        // one is still committed
+        final List<ListenableFuture<Void>> futures = first.getBatchCommitter().commitBatch(
+            List.of(second, third, first));
+        assertThrows(ExecutionException.class, () -> futures.get(0).get());
+        assertThrows(ExecutionException.class, () -> futures.get(1).get());
+        futures.get(2).get();
+
+        assertTrue(domStore.newReadOnlyTransaction().read(TestModel.TEST_PATH).get().isPresent());
+        assertFalse(domStore.newReadOnlyTransaction().read(TestModel.OUTER_LIST_PATH).get().isPresent());
+    }
+
+    @Test
+    public void testBatchCommitForeignCohort() throws Exception {
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+        final InMemoryDOMDataStore otherStore = new InMemoryDOMDataStore("OTHER",
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, MoreExecutors.newDirectExecutorService(),
+            InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_CHANGE_LISTENER_QUEUE_SIZE, false, true);
+        otherStore.onModelContextUpdated(SCHEMA_CONTEXT);
+
+        final DOMStoreBatchCommitCohort cohort = prepare(writeTest());
+        final DOMStoreBatchCommitCohort foreign = (DOMStoreBatchCommitCohort) otherStore.newWriteOnlyTransaction()
+            .ready();
+        assertThrows(IllegalArgumentException.class,
+            () -> cohort.getBatchCommitter().commitBatch(List.of(cohort, foreign)));
+
+        // Nothing has been committed
+        assertFalse(domStore.newReadOnlyTransaction().read(TestModel.TEST_PATH).get().isPresent());
+        cohort.commit().get();
+    }
+
+    @Test
+    public void testNoBatchCommitter() {
+        final InMemoryDOMDataStore store = new InMemoryDOMDataStore("TEST", MoreExecutors.newDirectExecutorService());
+        store.onModelContextUpdated(SCHEMA_CONTEXT);
+        assertNull(((DOMStoreBatchCommitCohort) store.newWriteOnlyTransaction().ready()).getBatchCommitter());
+    }
+
+    private static DOMStoreBatchCommitCohort prepare(final DOMStoreThreePhaseCommitCohort cohort) throws Exception {
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        return (DOMStoreBatchCommitCohort) cohort;
+    }
+
+    private static Optional<?> outerListAfter(final Collection<DataTreeCandidate> changes) {
+        assertEquals(1, changes.size());
+        final ContainerNode test = (ContainerNode) changes.iterator().next().getRootNode()
+            .getModifiedChild(new NodeIdentifier(TestModel.TEST_QNAME)).get().getDataAfter().get();
+        return test.getChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+    }
+
+    private DOMStoreThreePhaseCommitCohort writeTest() {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        return tx.ready();
+    }
+
+    private DOMStoreThreePhaseCommitCohort mergeOuterList() {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.merge(TestModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        return tx.ready();
+    }
+
+    private DOMStoreThreePhaseCommitCohort writeOuterListEntry() {
+        final DOMStoreWriteTransaction tx = domStore.newWriteOnlyTransaction();
+        tx.write(TestModel.OUTER_LIST_PATH.node(ENTRY_1),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1));
+        return tx.ready();
+    }
+}
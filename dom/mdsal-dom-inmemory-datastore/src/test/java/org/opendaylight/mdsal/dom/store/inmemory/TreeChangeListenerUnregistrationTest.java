@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.CoalescingDOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.mdsal.dom.spi.store.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+public class TreeChangeListenerUnregistrationTest {
+    private static final int LISTENERS = 100;
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    private final ManualExecutorService executor = new ManualExecutorService();
+    private InMemoryDOMDataStore domStore;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = TestModel.createTestContext();
+    }
+
+    @Before
+    public void before() {
+        domStore = new InMemoryDOMDataStore("TEST", executor);
+        domStore.onModelContextUpdated(SCHEMA_CONTEXT);
+    }
+
+    @Test
+    public void testPendingCandidatesReleased() throws Exception {
+        final List<DOMDataTreeChangeListener> listeners = new ArrayList<>(LISTENERS);
+        final List<ListenerRegistration<?>> registrations = new ArrayList<>(LISTENERS);
+        for (int i = 0; i < LISTENERS; ++i) {
+            final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+            doNothing().when(listener).onInitialData();
+            listeners.add(listener);
+            registrations.add(domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener));
+        }
+
+        writeAndDeleteTestContainer();
+        assertEquals(2 * LISTENERS, domStore.pendingTreeChangeCandidates());
+
+        registrations.forEach(ListenerRegistration::close);
+        assertEquals(0, domStore.pendingTreeChangeCandidates());
+
+        // Queued deliveries complete without invoking the listeners
+        executor.runAll();
+        for (DOMDataTreeChangeListener listener : listeners) {
+            verify(listener, never()).onDataTreeChanged(any());
+        }
+    }
+
+    @Test
+    public void testCoalescingQueuesReleased() throws Exception {
+        final List<CoalescingDOMDataTreeChangeListener> listeners = new ArrayList<>(LISTENERS);
+        final List<ListenerRegistration<?>> registrations = new ArrayList<>(LISTENERS);
+        for (int i = 0; i < LISTENERS; ++i) {
+            final CoalescingDOMDataTreeChangeListener listener = mock(CoalescingDOMDataTreeChangeListener.class);
+            doNothing().when(listener).onInitialData();
+            listeners.add(listener);
+            registrations.add(domStore.registerTreeChangeListener(TestModel.TEST_PATH, listener));
+        }
+
+        // Creating and removing the container would cancel out in the coalescing queues, hence only create it
+        final DOMStoreWriteTransaction write = domStore.newWriteOnlyTransaction();
+        write.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        commit(write.ready());
+        assertEquals(LISTENERS, domStore.coalescingTreeChangeQueues());
+        assertEquals(LISTENERS, domStore.pendingTreeChangeCandidates());
+
+        // Closing registrations drops their queues, and with them the only references to undelivered changes
+        registrations.forEach(ListenerRegistration::close);
+        assertEquals(0, domStore.coalescingTreeChangeQueues());
+        assertEquals(0, domStore.pendingTreeChangeCandidates());
+
+        executor.runAll();
+        for (CoalescingDOMDataTreeChangeListener listener : listeners) {
+            verify(listener, never()).onDataTreeChanged(any());
+        }
+    }
+
+    @Test
+    public void testLiveRegistrationUnaffected() throws Exception {
+        final DOMDataTreeChangeListener closed = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(closed).onInitialData();
+        final DOMDataTreeChangeListener live = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(live).onInitialData();
+        doNothing().when(live).onDataTreeChanged(any());
+
+        final ListenerRegistration<?> closedReg = domStore.registerTreeChangeListener(TestModel.TEST_PATH, closed);
+        domStore.registerTreeChangeListener(TestModel.TEST_PATH, live);
+
+        final DOMStoreWriteTransaction write = domStore.newWriteOnlyTransaction();
+        write.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        commit(write.ready());
+        assertEquals(2, domStore.pendingTreeChangeCandidates());
+
+        closedReg.close();
+        assertEquals(1, domStore.pendingTreeChangeCandidates());
+
+        executor.runAll();
+        assertEquals(0, domStore.pendingTreeChangeCandidates());
+        verify(closed, never()).onDataTreeChanged(any());
+        verify(live).onDataTreeChanged(any());
+    }
+
+    // Create and remove a subtree while listeners are not making progress, leaving two candidates queued for each
+    private void writeAndDeleteTestContainer() throws Exception {
+        final DOMStoreWriteTransaction write = domStore.newWriteOnlyTransaction();
+        write.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        commit(write.ready());
+
+        final DOMStoreWriteTransaction delete = domStore.newWriteOnlyTransaction();
+        delete.delete(TestModel.TEST_PATH);
+        commit(delete.ready());
+    }
+
+    private static void commit(final DOMStoreThreePhaseCommitCohort cohort) throws Exception {
+        assertTrue(cohort.canCommit().get());
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+}
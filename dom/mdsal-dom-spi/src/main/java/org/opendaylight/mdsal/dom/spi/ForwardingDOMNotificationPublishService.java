@@ -9,6 +9,7 @@ package org.opendaylight.mdsal.dom.spi;
 
 import com.google.common.collect.ForwardingObject;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.mdsal.dom.api.DOMNotification;
 import org.opendaylight.mdsal.dom.api.DOMNotificationPublishService;
@@ -28,6 +29,17 @@ public abstract class ForwardingDOMNotificationPublishService extends
         return delegate().putNotification(notification);
     }
 
+    @Override
+    public void publishNotification(final DOMNotification notification) throws InterruptedException {
+        delegate().publishNotification(notification);
+    }
+
+    @Override
+    public ListenableFuture<? extends Object> putNotifications(
+            final Collection<? extends DOMNotification> notifications) throws InterruptedException {
+        return delegate().putNotifications(notifications);
+    }
+
     @Override
     public ListenableFuture<? extends Object> offerNotification(final DOMNotification notification) {
         return delegate().offerNotification(notification);
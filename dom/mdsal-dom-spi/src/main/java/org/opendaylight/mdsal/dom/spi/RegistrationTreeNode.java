@@ -18,7 +18,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Identifiable;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
@@ -39,6 +41,9 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
     private static final Logger LOG = LoggerFactory.getLogger(RegistrationTreeNode.class);
 
     private final Map<PathArgument, RegistrationTreeNode<T>> children = new HashMap<>();
+    // Index of wildcard children, i.e. those identified by a NodeIdentifier, keyed by their node type. This allows
+    // inexact lookups to proceed without instantiating a NodeIdentifier for each list entry or leaf-list value.
+    private final Map<QName, RegistrationTreeNode<T>> wildcardChildren = new HashMap<>();
     private final Collection<T> registrations = new ArrayList<>(2);
     private final Collection<T> publicRegistrations = Collections.unmodifiableCollection(registrations);
     private final Reference<RegistrationTreeNode<T>> parent;
@@ -72,7 +77,22 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
      * @return Collection of children, guaranteed to be non-null.
      */
     public @NonNull Collection<RegistrationTreeNode<T>> getInexactChildren(final @NonNull PathArgument arg) {
+        final RegistrationTreeNode<T> child = getInexactChild(arg);
+        return child == null ? Collections.emptyList() : Collections.singletonList(child);
+    }
+
+    /**
+     * Return the child which matches a {@link PathArgument} specification inexactly. This is the non-allocating
+     * equivalent of {@link #getInexactChildren(PathArgument)}, as there is at most one such child.
+     *
+     * @param arg Child identifier
+     * @return Child matching inexactly, or null.
+     */
+    public @Nullable RegistrationTreeNode<T> getInexactChild(final @NonNull PathArgument arg) {
         requireNonNull(arg);
+        if (wildcardChildren.isEmpty()) {
+            return null;
+        }
         if (arg instanceof NodeWithValue || arg instanceof NodeIdentifierWithPredicates) {
             /*
              * TODO: This just all-or-nothing wildcards, which we have historically supported. Given
@@ -80,15 +100,19 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
              *       partial wildcards by iterating over the registrations and matching the maps for
              *       partial matches.
              */
-            final RegistrationTreeNode<T> child = children.get(new NodeIdentifier(arg.getNodeType()));
-            if (child == null) {
-                return Collections.emptyList();
-            }
-
-            return Collections.singletonList(child);
+            return wildcardChildren.get(arg.getNodeType());
         }
+        return null;
+    }
 
-        return Collections.emptyList();
+    /**
+     * Check whether this node has any children. Callers can use this to skip walking data below this node, as there
+     * cannot be any registrations interested in it.
+     *
+     * @return True if this node has at least one child.
+     */
+    public boolean hasChildren() {
+        return !children.isEmpty();
     }
 
     public Collection<T> getRegistrations() {
@@ -100,6 +124,9 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
         if (potential == null) {
             potential = new RegistrationTreeNode<>(this, child);
             children.put(child, potential);
+            if (child instanceof NodeIdentifier) {
+                wildcardChildren.put(child.getNodeType(), potential);
+            }
         }
         return potential;
     }
@@ -126,6 +153,9 @@ public final class RegistrationTreeNode<T> implements Identifiable<PathArgument>
 
     private void removeChild(final PathArgument arg) {
         children.remove(arg);
+        if (arg instanceof NodeIdentifier) {
+            wildcardChildren.remove(arg.getNodeType());
+        }
         removeThisIfUnused();
     }
 
@@ -15,7 +15,10 @@ import java.util.Collection;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
 import org.opendaylight.mdsal.dom.spi.AbstractRegistrationTree;
@@ -32,12 +35,37 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Abstract base class for {@link DOMStoreTreeChangePublisher} implementations.
+ *
+ *<p>
+ * By default candidate trees are matched against registrations on the thread invoking
+ * {@link #processCandidateTree(DataTreeCandidate)}. Subclasses can supply a {@link ForkJoinPool}, in which case the
+ * candidate is split at the first level where it fans out into multiple children with registrations beneath them,
+ * and each of those children is matched in parallel. The results are merged in candidate order, hence each
+ * registration observes the same sequence of changes as it would with sequential matching.
  */
 public abstract class AbstractDOMStoreTreeChangePublisher
     extends AbstractRegistrationTree<AbstractDOMDataTreeChangeListenerRegistration<?>>
         implements DOMStoreTreeChangePublisher {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDOMStoreTreeChangePublisher.class);
 
+    private final @Nullable ForkJoinPool fanOutPool;
+
+    /**
+     * Create a publisher which matches candidates sequentially.
+     */
+    protected AbstractDOMStoreTreeChangePublisher() {
+        this(null);
+    }
+
+    /**
+     * Create a publisher which matches candidates in parallel using specified pool.
+     *
+     * @param fanOutPool pool to use for parallel matching, or null to match sequentially
+     */
+    protected AbstractDOMStoreTreeChangePublisher(final @Nullable ForkJoinPool fanOutPool) {
+        this.fanOutPool = fanOutPool;
+    }
+
     /**
      * Callback for subclass to notify a specified registration of a list of candidates. This method is guaranteed
      * to be only called from within {@link #processCandidateTree(DataTreeCandidate)}.
@@ -78,7 +106,7 @@ public abstract class AbstractDOMStoreTreeChangePublisher
                 = takeSnapshot()) {
             final List<PathArgument> toLookup = ImmutableList.copyOf(candidate.getRootPath().getPathArguments());
             final Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate> listenerChanges =
-                    Multimaps.newListMultimap(new IdentityHashMap<>(), ArrayList::new);
+                    newListenerChanges();
             lookupAndNotify(toLookup, 0, snapshot.getRootNode(), candidate, listenerChanges);
 
             for (Map.Entry<AbstractDOMDataTreeChangeListenerRegistration<?>, Collection<DataTreeCandidate>> entry:
@@ -128,15 +156,83 @@ public abstract class AbstractDOMStoreTreeChangePublisher
                 lookupAndNotify(args, offset + 1, exactChild, candidate, listenerChanges);
             }
 
-            for (RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> c :
-                    node.getInexactChildren(arg)) {
-                lookupAndNotify(args, offset + 1, c, candidate, listenerChanges);
+            final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> inexactChild
+                = node.getInexactChild(arg);
+            if (inexactChild != null) {
+                lookupAndNotify(args, offset + 1, inexactChild, candidate, listenerChanges);
             }
+        } else if (fanOutPool != null) {
+            notifyNodeParallel(fanOutPool, candidate.getRootPath(), node, candidate.getRootNode(), listenerChanges);
         } else {
             notifyNode(candidate.getRootPath(), node, candidate.getRootNode(), listenerChanges);
         }
     }
 
+    private void notifyNodeParallel(final ForkJoinPool pool, final YangInstanceIdentifier path,
+            final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regNode,
+            final DataTreeCandidateNode candNode,
+            final Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate> listenerChanges) {
+        if (candNode.getModificationType() == ModificationType.UNMODIFIED) {
+            LOG.debug("Skipping unmodified candidate {}", path);
+            return;
+        }
+
+        final Collection<AbstractDOMDataTreeChangeListenerRegistration<?>> regs = regNode.getRegistrations();
+        if (!regs.isEmpty()) {
+            addToListenerChanges(regs, path, candNode, listenerChanges);
+        }
+        if (!regNode.hasChildren()) {
+            return;
+        }
+
+        // Collect the work items in the order sequential matching would visit them
+        final List<FanOutItem> items = new ArrayList<>();
+        for (DataTreeCandidateNode candChild : candNode.getChildNodes()) {
+            if (candChild.getModificationType() != ModificationType.UNMODIFIED) {
+                final YangInstanceIdentifier childPath = path.node(candChild.getIdentifier());
+                final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regChild =
+                        regNode.getExactChild(candChild.getIdentifier());
+                if (regChild != null) {
+                    items.add(new FanOutItem(childPath, regChild, candChild));
+                }
+                final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> inexactChild =
+                        regNode.getInexactChild(candChild.getIdentifier());
+                if (inexactChild != null) {
+                    items.add(new FanOutItem(childPath, inexactChild, candChild));
+                }
+            }
+        }
+
+        switch (items.size()) {
+            case 0:
+                return;
+            case 1:
+                // No fan-out at this level, try the next one
+                final FanOutItem item = items.get(0);
+                notifyNodeParallel(pool, item.path, item.regNode, item.candNode, listenerChanges);
+                return;
+            default:
+                break;
+        }
+
+        final List<ForkJoinTask<Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>>> tasks =
+                new ArrayList<>(items.size());
+        for (FanOutItem item : items) {
+            tasks.add(pool.submit(() -> {
+                final Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate> changes =
+                        newListenerChanges();
+                notifyNode(item.path, item.regNode, item.candNode, changes);
+                return changes;
+            }));
+        }
+
+        // Merge results in submission order, so per-registration ordering is preserved
+        for (ForkJoinTask<Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>> task
+                : tasks) {
+            listenerChanges.putAll(task.join());
+        }
+    }
+
     private void notifyNode(final YangInstanceIdentifier path,
             final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regNode,
             final DataTreeCandidateNode candNode,
@@ -150,6 +246,10 @@ public abstract class AbstractDOMStoreTreeChangePublisher
         if (!regs.isEmpty()) {
             addToListenerChanges(regs, path, candNode, listenerChanges);
         }
+        if (!regNode.hasChildren()) {
+            // There are no registrations below this node, hence there is no point in walking the candidate
+            return;
+        }
 
         for (DataTreeCandidateNode candChild : candNode.getChildNodes()) {
             if (candChild.getModificationType() != ModificationType.UNMODIFIED) {
@@ -159,14 +259,20 @@ public abstract class AbstractDOMStoreTreeChangePublisher
                     notifyNode(path.node(candChild.getIdentifier()), regChild, candChild, listenerChanges);
                 }
 
-                for (RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> rc :
-                    regNode.getInexactChildren(candChild.getIdentifier())) {
-                    notifyNode(path.node(candChild.getIdentifier()), rc, candChild, listenerChanges);
+                final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> inexactChild =
+                        regNode.getInexactChild(candChild.getIdentifier());
+                if (inexactChild != null) {
+                    notifyNode(path.node(candChild.getIdentifier()), inexactChild, candChild, listenerChanges);
                 }
             }
         }
     }
 
+    private static Multimap<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeCandidate>
+            newListenerChanges() {
+        return Multimaps.newListMultimap(new IdentityHashMap<>(), ArrayList::new);
+    }
+
     private static void addToListenerChanges(
             final Collection<AbstractDOMDataTreeChangeListenerRegistration<?>> registrations,
             final YangInstanceIdentifier path, final DataTreeCandidateNode node,
@@ -177,4 +283,18 @@ public abstract class AbstractDOMStoreTreeChangePublisher
             listenerChanges.put(reg, dataTreeCandidate);
         }
     }
+
+    private static final class FanOutItem {
+        final YangInstanceIdentifier path;
+        final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regNode;
+        final DataTreeCandidateNode candNode;
+
+        FanOutItem(final YangInstanceIdentifier path,
+                final RegistrationTreeNode<AbstractDOMDataTreeChangeListenerRegistration<?>> regNode,
+                final DataTreeCandidateNode candNode) {
+            this.path = path;
+            this.regNode = regNode;
+            this.candNode = candNode;
+        }
+    }
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link DOMStoreThreePhaseCommitCohort} which can have its commit phase executed together with other cohorts of
+ * the same {@link DOMStore}, via a {@link DOMStoreBatchCommitter}.
+ */
+@Beta
+public interface DOMStoreBatchCommitCohort extends DOMStoreThreePhaseCommitCohort {
+    /**
+     * Return the {@link DOMStoreBatchCommitter} which can commit this cohort as part of a batch. Cohorts which report
+     * the same committer can be committed together.
+     *
+     * @return A DOMStoreBatchCommitter, or null if this cohort needs to be committed through {@link #commit()}
+     */
+    @Nullable DOMStoreBatchCommitter getBatchCommitter();
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Entry point for committing multiple transactions to a {@link DOMStore} in one step. This allows a store to amortize
+ * the cost of its commit lock and of dispatching change notifications over a number of transactions.
+ */
+@Beta
+public interface DOMStoreBatchCommitter {
+    /**
+     * Commit a batch of cohorts, in the order they appear in the list. Each cohort has to have successfully completed
+     * {@link DOMStoreThreePhaseCommitCohort#preCommit()} and has to report this committer from
+     * {@link DOMStoreBatchCommitCohort#getBatchCommitter()}.
+     *
+     * <p>
+     * This method is equivalent to invoking {@link DOMStoreThreePhaseCommitCohort#commit()} on each cohort in turn,
+     * except that no other commit can be interleaved with the batch. Failures are reported through the returned
+     * futures, hence a failure to commit one cohort does not prevent the remaining cohorts from being attempted.
+     *
+     * @param cohorts Cohorts to commit
+     * @return List of futures, one for each cohort, in the same order as the cohorts
+     * @throws IllegalArgumentException if any of the cohorts does not belong to this committer
+     */
+    @NonNull List<ListenableFuture<Void>> commitBatch(@NonNull List<? extends DOMStoreBatchCommitCohort> cohorts);
+}
@@ -10,6 +10,8 @@ package org.opendaylight.mdsal.dom.spi;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -18,6 +20,7 @@ import java.util.Collections;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 
@@ -55,4 +58,37 @@ public class RegistrationTreeNodeTest {
         assertNotNull(registrationTreeNode.toString());
         assertTrue(registrationTreeNode.toString().contains(pathArgument.toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void wildcardIndexTest() {
+        final QName list = QName.create("test", "list");
+        final QName key = QName.create(list, "key");
+        final NodeIdentifier wildcard = new NodeIdentifier(list);
+        final NodeIdentifierWithPredicates entry = NodeIdentifierWithPredicates.of(list, key, "foo");
+
+        final RegistrationTreeNode<Object> root = new RegistrationTreeNode<>(null, null);
+        assertFalse(root.hasChildren());
+        assertNull(root.getInexactChild(entry));
+
+        // Exact entry registrations are not reachable through inexact lookup
+        final RegistrationTreeNode<Object> exact = root.ensureChild(entry);
+        assertTrue(root.hasChildren());
+        assertSame(exact, root.getExactChild(entry));
+        assertNull(root.getInexactChild(entry));
+
+        final RegistrationTreeNode<Object> child = root.ensureChild(wildcard);
+        assertSame(child, root.getInexactChild(entry));
+        assertSame(child, root.getInexactChild(NodeIdentifierWithPredicates.of(list, key, "bar")));
+        assertEquals(Collections.singletonList(child), root.getInexactChildren(entry));
+        assertNull(root.getInexactChild(wildcard));
+        assertNull(root.getInexactChild(new NodeWithValue<>(QName.create(list, "other"), "foo")));
+
+        // Removing the last registration prunes the wildcard node and its index entry
+        final Object registration = new Object();
+        child.addRegistration(registration);
+        child.removeRegistration(registration);
+        assertNull(root.getExactChild(wildcard));
+        assertNull(root.getInexactChild(entry));
+        assertTrue(root.hasChildren());
+    }
+}
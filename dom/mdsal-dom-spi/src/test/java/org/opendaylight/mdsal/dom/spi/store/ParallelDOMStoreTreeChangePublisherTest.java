@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+public class ParallelDOMStoreTreeChangePublisherTest {
+    private static final QName TOP = QName.create("test", "top");
+    private static final QName LIST = QName.create(TOP, "list");
+    private static final QName KEY = QName.create(TOP, "key");
+    private static final QName LEAF = QName.create(TOP, "leaf");
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.create(new NodeIdentifier(TOP));
+    private static final YangInstanceIdentifier LIST_PATH = TOP_PATH.node(LIST);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void after() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        final DataTreeCandidate candidate = mockCandidate(16);
+
+        final TestPublisher sequential = new TestPublisher(null);
+        final TestPublisher parallel = new TestPublisher(pool);
+        for (TestPublisher publisher : List.of(sequential, parallel)) {
+            publisher.registerTreeChangeListener(TOP_PATH, mock(DOMDataTreeChangeListener.class));
+            publisher.registerTreeChangeListener(LIST_PATH.node(new NodeIdentifier(LIST)),
+                mock(DOMDataTreeChangeListener.class));
+            publisher.registerTreeChangeListener(LIST_PATH.node(entryId(3)), mock(DOMDataTreeChangeListener.class));
+            publisher.registerTreeChangeListener(LIST_PATH.node(new NodeIdentifier(LIST)).node(LEAF),
+                mock(DOMDataTreeChangeListener.class));
+            assertTrue(publisher.processCandidateTree(candidate));
+        }
+
+        assertEquals(sequential.changes.size(), parallel.changes.size());
+        assertEquals(new ArrayList<>(sequential.changes.values()), new ArrayList<>(parallel.changes.values()));
+
+        // Wildcard listeners see all entries, in candidate order
+        final List<List<YangInstanceIdentifier>> values = new ArrayList<>(parallel.changes.values());
+        assertEquals(List.of(TOP_PATH), values.get(0));
+        assertEquals(16, values.get(1).size());
+        assertEquals(List.of(LIST_PATH.node(entryId(3))), values.get(2));
+        assertEquals(16, values.get(3).size());
+        for (int i = 0; i < 16; ++i) {
+            assertEquals(LIST_PATH.node(entryId(i)), values.get(1).get(i));
+            assertEquals(LIST_PATH.node(entryId(i)).node(LEAF), values.get(3).get(i));
+        }
+    }
+
+    @Test
+    public void testWildcardSkipsUnregisteredSubtrees() {
+        final DataTreeCandidate candidate = mockCandidate(16);
+        final TestPublisher publisher = new TestPublisher(null);
+        publisher.registerTreeChangeListener(LIST_PATH.node(new NodeIdentifier(LIST)),
+            mock(DOMDataTreeChangeListener.class));
+        assertTrue(publisher.processCandidateTree(candidate));
+
+        final List<List<YangInstanceIdentifier>> values = new ArrayList<>(publisher.changes.values());
+        assertEquals(16, values.get(0).size());
+
+        // There are no registrations below list entries, hence their children should not have been examined
+        final DataTreeCandidateNode list = candidate.getRootNode().getChildNodes().iterator().next();
+        for (DataTreeCandidateNode entry : list.getChildNodes()) {
+            verify(entry, never()).getChildNodes();
+        }
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int key) {
+        return NodeIdentifierWithPredicates.of(LIST, KEY, key);
+    }
+
+    private static DataTreeCandidate mockCandidate(final int entries) {
+        final List<DataTreeCandidateNode> entryNodes = new ArrayList<>(entries);
+        for (int i = 0; i < entries; ++i) {
+            entryNodes.add(mockNode(entryId(i), List.of(mockNode(new NodeIdentifier(LEAF), List.of()))));
+        }
+
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        final DataTreeCandidateNode root = mockNode(new NodeIdentifier(TOP),
+            List.of(mockNode(new NodeIdentifier(LIST), entryNodes)));
+        doReturn(root).when(candidate).getRootNode();
+        doReturn(TOP_PATH).when(candidate).getRootPath();
+        return candidate;
+    }
+
+    private static DataTreeCandidateNode mockNode(final PathArgument id,
+            final Collection<DataTreeCandidateNode> children) {
+        final DataTreeCandidateNode node = mock(DataTreeCandidateNode.class);
+        doReturn(id).when(node).getIdentifier();
+        doReturn(ModificationType.SUBTREE_MODIFIED).when(node).getModificationType();
+        doReturn(children).when(node).getChildNodes();
+        return node;
+    }
+
+    private static final class TestPublisher extends AbstractDOMStoreTreeChangePublisher {
+        // Keyed by registration order
+        final Map<AbstractDOMDataTreeChangeListenerRegistration<?>, List<YangInstanceIdentifier>> changes =
+                new LinkedHashMap<>();
+
+        TestPublisher(final ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        public <L extends DOMDataTreeChangeListener> AbstractDOMDataTreeChangeListenerRegistration<L>
+                registerTreeChangeListener(final YangInstanceIdentifier treeId, final L listener) {
+            final AbstractDOMDataTreeChangeListenerRegistration<L> reg = super.registerTreeChangeListener(treeId,
+                listener);
+            changes.put(reg, null);
+            return reg;
+        }
+
+        @Override
+        protected void notifyListener(final AbstractDOMDataTreeChangeListenerRegistration<?> registration,
+                final Collection<DataTreeCandidate> candidates) {
+            changes.put(registration, candidates.stream().map(DataTreeCandidate::getRootPath)
+                .collect(Collectors.toList()));
+        }
+
+        @Override
+        protected void registrationRemoved(final AbstractDOMDataTreeChangeListenerRegistration<?> registration) {
+            changes.remove(registration);
+        }
+    }
+}